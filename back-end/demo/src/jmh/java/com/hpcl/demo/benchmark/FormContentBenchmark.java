@@ -0,0 +1,55 @@
+package com.hpcl.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hpcl.demo.entity.FormContent;
+import com.hpcl.demo.service.FormDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning stored form JSON into a FormDefinition (a FormDefinitionCache miss) and of the
+ * per-viewer accessibleFieldIds computation in getFormById.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormContentBenchmark {
+
+    @Param({"20", "200"})
+    public int fields;
+
+    @Param({"3", "10"})
+    public int levels;
+
+    @Param({"10", "500"})
+    public int assigneesPerLevel;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String formJson;
+    private FormDefinition definition;
+    private String viewerId;
+
+    @Setup
+    public void setUp() throws Exception {
+        FormContent content = SyntheticForms.formContent(fields, levels, assigneesPerLevel);
+        formJson = objectMapper.writeValueAsString(content);
+        definition = new FormDefinition(1L, content);
+        // Worst case for the assignment scan: the last assignee of the last level.
+        viewerId = SyntheticForms.employeeId(levels, assigneesPerLevel - 1);
+    }
+
+    @Benchmark
+    public FormDefinition parseFormContent() throws Exception {
+        return new FormDefinition(1L, objectMapper.readValue(formJson, FormContent.class));
+    }
+
+    @Benchmark
+    public List<String> accessibleFieldIds() {
+        return definition.getAccessibleFieldIds(viewerId);
+    }
+}
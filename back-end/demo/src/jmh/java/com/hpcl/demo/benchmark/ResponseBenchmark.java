@@ -0,0 +1,133 @@
+package com.hpcl.demo.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hpcl.demo.controller.FormController;
+import com.hpcl.demo.entity.Employee;
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.Form;
+import com.hpcl.demo.repository.EmployeeRepository;
+import com.hpcl.demo.service.EmployeeDirectory;
+import com.hpcl.demo.service.FormDefinitionCache;
+import com.hpcl.demo.service.ResponseMerger;
+import com.hpcl.demo.service.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the response-side hot paths: reading one stored response blob, the merge done by
+ * submitResponse on resubmission, and FormController.mapResponsesToDTO over a whole form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseBenchmark {
+
+    @Param({"20", "200"})
+    public int fields;
+
+    @Param({"3"})
+    public int levels;
+
+    @Param({"50"})
+    public int assigneesPerLevel;
+
+    @Param({"100", "5000"})
+    public int records;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JavaType fieldResponseListType;
+    private String responseJson;
+    private List<FieldResponse> existingFields;
+    private List<FieldResponse> upsertedFields;
+    private List<StoredResponse> storedResponses;
+    private Form form;
+    private FormController controller;
+    private MethodHandle mapResponsesToDTO;
+
+    @Setup
+    public void setUp() throws Throwable {
+        fieldResponseListType = objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class);
+        existingFields = SyntheticForms.fieldResponses(fields, "E1-0", 0);
+        responseJson = objectMapper.writeValueAsString(existingFields);
+        // A resubmission that changes every fourth answer.
+        upsertedFields = new ArrayList<>();
+        for (int i = 0; i < fields; i += 4) {
+            upsertedFields.add(new FieldResponse("E1-0", "Employee E1-0", SyntheticForms.fieldId(i), "Changed " + i, null));
+        }
+        storedResponses = SyntheticForms.storedResponses(records, fields, levels, assigneesPerLevel);
+
+        form = new Form();
+        form.setId(1L);
+        form.setTitle("Benchmark form");
+        form.setFormContent(objectMapper.writeValueAsString(SyntheticForms.formContent(fields, levels, assigneesPerLevel)));
+
+        controller = new FormController();
+        inject(controller, "formDefinitionCache", new FormDefinitionCache(objectMapper, new SimpleMeterRegistry(), 10, Duration.ofHours(1)));
+        EmployeeDirectory employeeDirectory = new EmployeeDirectory(inMemoryEmployees(), 100_000, Duration.ofHours(1), false);
+        inject(controller, "employeeDirectory", employeeDirectory);
+
+        Method method = FormController.class.getDeclaredMethod("mapResponsesToDTO", List.class, Form.class);
+        method.setAccessible(true);
+        mapResponsesToDTO = MethodHandles.lookup().unreflect(method);
+        // Warm the definition cache and the name cache so the benchmark measures mapping only.
+        Object ignored = mapResponsesToDTO.invoke(controller, storedResponses, form);
+    }
+
+    @Benchmark
+    public List<FieldResponse> deserializeFieldResponses() throws Exception {
+        return objectMapper.readValue(responseJson, fieldResponseListType);
+    }
+
+    @Benchmark
+    public String submitMerge() throws Exception {
+        List<FieldResponse> existing = objectMapper.readValue(responseJson, fieldResponseListType);
+        return objectMapper.writeValueAsString(ResponseMerger.merge(existing, upsertedFields));
+    }
+
+    @Benchmark
+    public Object mapResponsesToDTO() throws Throwable {
+        return mapResponsesToDTO.invoke(controller, storedResponses, form);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        java.lang.reflect.Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * EmployeeRepository stand-in that answers findAllById from generated names.
+     */
+    private static EmployeeRepository inMemoryEmployees() {
+        return (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAllById")) {
+                        List<Employee> employees = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Employee employee = new Employee();
+                            employee.setEmployeeId((String) id);
+                            employee.setEmployeeName("Employee " + id);
+                            employees.add(employee);
+                        }
+                        return employees;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
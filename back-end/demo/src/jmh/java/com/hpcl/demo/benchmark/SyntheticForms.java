@@ -0,0 +1,72 @@
+package com.hpcl.demo.benchmark;
+
+import com.hpcl.demo.entity.Field;
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.FormContent;
+import com.hpcl.demo.service.StoredResponse;
+
+import java.util.*;
+
+/**
+ * Deterministic forms and responses of a given shape for the benchmarks. Fields are spread
+ * round-robin over the levels; employee ids are "E<level>-<n>".
+ */
+final class SyntheticForms {
+
+    private SyntheticForms() {
+    }
+
+    static FormContent formContent(int fieldCount, int levelCount, int assigneesPerLevel) {
+        List<Field> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            int level = i % levelCount + 1;
+            String type = i % 3 == 0 ? "multiple-choice" : "text";
+            List<String> options = i % 3 == 0 ? List.of("Option A", "Option B", "Option C", "Option D") : List.of();
+            fields.add(new Field(fieldId(i), "Question number " + i + " for level " + level, type, List.of(level), options, List.of()));
+        }
+
+        Map<Integer, List<String>> levelAssignments = new HashMap<>();
+        List<Integer> priorityOrder = new ArrayList<>();
+        for (int level = 1; level <= levelCount; level++) {
+            List<String> employeeIds = new ArrayList<>(assigneesPerLevel);
+            for (int n = 0; n < assigneesPerLevel; n++) {
+                employeeIds.add(employeeId(level, n));
+            }
+            levelAssignments.put(level, employeeIds);
+            priorityOrder.add(level);
+        }
+
+        FormContent content = new FormContent();
+        content.setFields(fields);
+        content.setLevelAssignments(levelAssignments);
+        content.setLevelPriorityOrder(priorityOrder);
+        return content;
+    }
+
+    static List<FieldResponse> fieldResponses(int fieldCount, String employeeId, int seed) {
+        List<FieldResponse> responses = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            responses.add(new FieldResponse(employeeId, "Employee " + employeeId, fieldId(i),
+                    "Answer " + seed + "-" + i, null));
+        }
+        return responses;
+    }
+
+    static List<StoredResponse> storedResponses(int recordCount, int fieldCount, int levelCount, int assigneesPerLevel) {
+        List<StoredResponse> responses = new ArrayList<>(recordCount);
+        for (int r = 0; r < recordCount; r++) {
+            String employeeId = employeeId(r % levelCount + 1, r % assigneesPerLevel);
+            responses.add(new StoredResponse((long) r + 1, employeeId, "record-" + r,
+                    fieldResponses(fieldCount, employeeId, r)));
+        }
+        return responses;
+    }
+
+    static String fieldId(int index) {
+        return "field-" + index;
+    }
+
+    static String employeeId(int level, int n) {
+        return "E" + level + "-" + n;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hpcl.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Bounded pool for the application's own background fetches. When the queue is full the
+     * submitting request thread runs the task itself, which throttles callers instead of failing them.
+     */
+    @Bean(name = "appTaskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor appTaskExecutor(@Value("${app.executor.core-size:4}") int coreSize,
+                                                  @Value("${app.executor.max-size:16}") int maxSize,
+                                                  @Value("${app.executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("app-task-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        logger.info("Application task executor configured with core={}, max={}, queue={}", coreSize, maxSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Virtual-thread variant used when spring.threads.virtual.enabled is set (Java 21+). Each task
+     * gets its own virtual thread; the concurrency limit stands in for the pool size so the
+     * JDBC connection pool is not flooded, and submitters block once it is reached.
+     */
+    @Bean(name = "appTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualAppTaskExecutor(@Value("${app.executor.max-size:16}") int maxSize) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("app-task-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxSize);
+        executor.setTaskTerminationTimeout(10_000);
+        logger.info("Application task executor configured with virtual threads, concurrency limit={}", maxSize);
+        return executor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.hpcl.demo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers HTTP Basic credentials that already passed BCrypt so repeat requests skip both the
+ * employee lookup and the hash check. Entries are keyed by an HMAC-SHA256 of username and
+ * password under a random key that only lives in this process; the password itself is never kept.
+ */
+@Component
+public class CredentialCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialCache.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec digestKey;
+    private final Cache<String, Entry> cache;
+
+    public CredentialCache(@Value("${security.credential-cache.ttl:60s}") Duration ttl,
+                           @Value("${security.credential-cache.maximum-size:10000}") long maximumSize) {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        this.digestKey = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        logger.info("Credential cache configured with ttl={}, maximumSize={}", ttl, maximumSize);
+    }
+
+    public Entry get(String username, String password) {
+        return cache.getIfPresent(digest(username, password));
+    }
+
+    public void put(String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        cache.put(digest(username, password), new Entry(username, List.copyOf(authorities)));
+    }
+
+    /**
+     * Drops every cached credential for the employee, e.g. after the password or role changed.
+     */
+    public void evict(String username) {
+        if (cache.asMap().values().removeIf(entry -> entry.username().equals(username))) {
+            logger.debug("Evicted cached credentials for employee_id: {}", username);
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            // Length prefix keeps ("ab", "c") and ("a", "bc") apart.
+            mac.update((username.length() + ":" + username).getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    public record Entry(String username, List<GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.hpcl.demo.config;
+
+import com.hpcl.demo.entity.Employee;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts an employee's cached credentials and revokes their bearer tokens whenever the row is
+ * updated or removed through JPA, so a password or role change takes effect on the next request.
+ * Changes made directly in the database are picked up once the cache TTL runs out.
+ */
+@Component
+public class EmployeeCredentialListener {
+
+    @Autowired
+    private CredentialCache credentialCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @PostUpdate
+    @PostRemove
+    public void onEmployeeChanged(Employee employee) {
+        credentialCache.evict(employee.getEmployeeId());
+        tokenService.revokeSubject(employee.getEmployeeId());
+    }
+}
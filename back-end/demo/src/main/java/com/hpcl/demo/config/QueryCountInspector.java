@@ -0,0 +1,35 @@
+package com.hpcl.demo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()}
+ * and {@link #stop()}. Statements issued outside Hibernate (JdbcTemplate) or on other threads
+ * are not counted.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    /**
+     * Ends counting on this thread and returns the number of statements seen since {@link #start()}.
+     */
+    public int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter != null ? counter[0] : 0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.hpcl.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records, per endpoint, the number of Hibernate statements a request issued and the size of
+ * the response body, and warns when the statement count crosses the N+1 threshold. Request
+ * latency itself is already timed by Spring's http.server.requests metric.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final QueryCountInspector queryCountInspector;
+    private final MeterRegistry meterRegistry;
+    private final int queryWarnThreshold;
+
+    public RequestMetricsFilter(QueryCountInspector queryCountInspector,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.metrics.query-count.warn-threshold:20}") int queryWarnThreshold) {
+        this.queryCountInspector = queryCountInspector;
+        this.meterRegistry = meterRegistry;
+        this.queryWarnThreshold = queryWarnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response);
+        queryCountInspector.start();
+        int queries;
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            queries = queryCountInspector.stop();
+        }
+
+        String uri = uriTag(request);
+        DistributionSummary.builder("app.request.queries")
+                .description("Hibernate statements issued while handling a request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(queries);
+        if (queries > queryWarnThreshold) {
+            logger.warn("Possible N+1: {} {} issued {} statements (threshold {})",
+                    request.getMethod(), uri, queries, queryWarnThreshold);
+        }
+
+        if (request.isAsyncStarted()) {
+            // Streaming bodies are written after this dispatch returns; record the size once the exchange completes.
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    recordPayload(request, uri, countingResponse);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            recordPayload(request, uri, countingResponse);
+        }
+    }
+
+    private void recordPayload(HttpServletRequest request, String uri, CountingResponse response) {
+        DistributionSummary.builder("app.response.payload")
+                .description("Response body size")
+                .baseUnit("bytes")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(response.bytesWritten());
+    }
+
+    private static String uriTag(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Counts the bytes written to the body without buffering them, so streamed responses stay streamed.
+     */
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private final AtomicLong count = new AtomicLong();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytesWritten() {
+            if (writer != null) {
+                writer.flush();
+            }
+            return count.get();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        count.incrementAndGet();
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        count.addAndGet(len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), charset));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+    }
+}
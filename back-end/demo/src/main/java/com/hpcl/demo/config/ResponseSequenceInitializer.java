@@ -0,0 +1,42 @@
+package com.hpcl.demo.config;
+
+import com.hpcl.demo.entity.Response;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves response_seq past the ids already in responses. Rows written while responses.id was
+ * AUTO_INCREMENT (and any inserted outside Hibernate) would otherwise collide with the first
+ * blocks handed out by the sequence. Runs after the schema update and before the app takes requests.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ResponseSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseSequenceInitializer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignSequence() {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE response_seq SET next_val = GREATEST(next_val, " +
+                            "(SELECT COALESCE(MAX(id), 0) + ? FROM responses))",
+                    Response.ID_ALLOCATION_SIZE + 1);
+            if (updated == 0) {
+                jdbcTemplate.update("INSERT INTO response_seq (next_val) SELECT COALESCE(MAX(id), 0) + ? FROM responses",
+                        Response.ID_ALLOCATION_SIZE + 1);
+            }
+            logger.debug("response_seq aligned with existing response ids");
+        } catch (Exception e) {
+            logger.error("Could not align response_seq with existing response ids: {}", e.getMessage(), e);
+        }
+    }
+}
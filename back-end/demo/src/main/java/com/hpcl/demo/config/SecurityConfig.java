@@ -4,6 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,6 +13,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,11 +27,14 @@ public class SecurityConfig {
     private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/public/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("OWNER")
                         .requestMatchers("/api/owner/**").hasAuthority("OWNER")
                         .requestMatchers("/api/employee/**").hasAnyAuthority("EMPLOYEE", "OWNER")
                         .anyRequest().authenticated()
@@ -36,7 +42,7 @@ public class SecurityConfig {
                 .httpBasic()
                 .and()
                 .csrf().disable();
-        logger.info("Security filter chain configured with CORS and Basic Authentication");
+        logger.info("Security filter chain configured with CORS, bearer tokens and Basic Authentication");
         return http.build();
     }
 
@@ -58,6 +64,18 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * BCrypt verification behind a short-lived cache of already verified credentials.
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder,
+                                                         CredentialCache credentialCache) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(passwordEncoder);
+        daoProvider.setUserDetailsService(userDetailsService);
+        return new CachingAuthenticationProvider(daoProvider, credentialCache);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         logger.info("Configuring BCryptPasswordEncoder for password hashing");
@@ -72,8 +90,10 @@ public class SecurityConfig {
         configuration.addAllowedMethod("POST");
         configuration.addAllowedMethod("PUT");
         configuration.addAllowedMethod("DELETE");
+        configuration.addAllowedMethod("PATCH");
         configuration.setAllowCredentials(true);
         configuration.addAllowedHeader("*");
+        configuration.addExposedHeader("Idempotent-Replayed");
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         logger.info("CORS configured to allow origin: http://localhost:3000");
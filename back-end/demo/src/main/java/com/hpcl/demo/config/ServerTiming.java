@@ -0,0 +1,117 @@
+package com.hpcl.demo.config;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Per-request timing phases for the Server-Timing header. {@link ServerTimingFilter} opens a
+ * recorder for sampled requests only; on every other request {@link #phase(String)} is a single
+ * thread-local read returning a shared no-op.
+ * <pre>
+ * try (ServerTiming.Phase ignored = ServerTiming.phase("db")) {
+ *     form = formRepository.findById(id);
+ * }
+ * </pre>
+ * Repeated phases with the same name add up. Phases do not nest: time spent in an inner phase is
+ * counted in the outer one as well, so instrument leaf steps. Work handed to another thread is only
+ * recorded when the task is wrapped with {@link #propagate}.
+ */
+public final class ServerTiming {
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase NOOP = () -> { };
+
+    private final long startNanos;
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+    private ServerTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static Phase phase(String name) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        return () -> timing.add(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Records the time from the start of the request until now as the given phase.
+     */
+    public static void markSinceStart(String name) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(name, System.nanoTime() - timing.startNanos);
+        }
+    }
+
+    /**
+     * Wraps a task that runs on another thread so the phases it records count toward the current
+     * request. Time of tasks that run in parallel with the request thread adds up, so a phase can
+     * exceed total.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return task;
+        }
+        return () -> {
+            ServerTiming previous = CURRENT.get();
+            CURRENT.set(timing);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    // Synchronized because propagated tasks record from other threads.
+    private synchronized void add(String name, long nanos) {
+        long[] totals = phases.computeIfAbsent(name, k -> new long[2]);
+        totals[0] += nanos;
+        totals[1]++;
+    }
+
+    /**
+     * Header value, e.g. {@code auth;dur=3.1, db;dur=12.4;desc="3x", total;dur=18.0}.
+     */
+    synchronized String toHeaderValue() {
+        StringJoiner joiner = new StringJoiner(", ");
+        phases.forEach((name, totals) -> {
+            String entry = name + ";dur=" + millis(totals[0]);
+            joiner.add(totals[1] > 1 ? entry + ";desc=\"" + totals[1] + "x\"" : entry);
+        });
+        joiner.add("total;dur=" + millis(System.nanoTime() - startNanos));
+        return joiner.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    @FunctionalInterface
+    public interface Phase extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.hpcl.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    /**
+     * Closes the "auth" phase when the request reaches its handler: everything before that is
+     * the security filter chain (HTTP Basic / bearer token checks) plus dispatch.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                ServerTiming.markSinceStart("auth");
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    /**
+     * Times every Spring Data repository call as the "db" phase.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                                try (ServerTiming.Phase ignored = ServerTiming.phase("db")) {
+                                    return invocation.proceed();
+                                }
+                            })));
+                }
+                return bean;
+            }
+        };
+    }
+}
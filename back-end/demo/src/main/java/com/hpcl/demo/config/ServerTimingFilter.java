@@ -0,0 +1,137 @@
+package com.hpcl.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adds a Server-Timing header to a sample of /api responses and logs the same breakdown at
+ * debug level. A request is sampled with probability app.server-timing.sample-rate, or always
+ * when app.server-timing.allow-request-header is on and it carries "X-Server-Timing: 1".
+ * <p>
+ * The header goes out when the response is committed, so phases that run while the body is
+ * written (serialize) only appear in the log line.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    static final String HEADER = "Server-Timing";
+    static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private final double sampleRate;
+    private final boolean allowRequestHeader;
+
+    public ServerTimingFilter(@Value("${app.server-timing.sample-rate:0.0}") double sampleRate,
+                              @Value("${app.server-timing.allow-request-header:false}") boolean allowRequestHeader) {
+        this.sampleRate = sampleRate;
+        this.allowRequestHeader = allowRequestHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!isSampled(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming timing = ServerTiming.begin();
+        TimingResponse timingResponse = new TimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            timingResponse.addTimingHeader();
+            ServerTiming.end();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Server-Timing {} {} -> {}: {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timing.toHeaderValue());
+            }
+        }
+    }
+
+    private boolean isSampled(HttpServletRequest request) {
+        if (allowRequestHeader && "1".equals(request.getHeader(REQUEST_HEADER))) {
+            return true;
+        }
+        return sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Sets the header just before the response is committed.
+     */
+    private static class TimingResponse extends HttpServletResponseWrapper {
+
+        private final ServerTiming timing;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, ServerTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void addTimingHeader() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                setHeader(HEADER, timing.toHeaderValue());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hpcl.demo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The regular Jackson converter, timing request-body parsing (app.json.parse, type=request) and
+ * response serialization (app.json.serialize, type=response). Serialization time includes
+ * writing to the socket buffer.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Timer parseTimer;
+    private final Timer serializeTimer;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.parseTimer = Timer.builder("app.json.parse")
+                .tag("type", "request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.serializeTimer = Timer.builder("app.json.serialize")
+                .tag("type", "response")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Timer.Sample sample = Timer.start();
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start();
+        try (ServerTiming.Phase ignored = ServerTiming.phase("serialize")) {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(serializeTimer);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.hpcl.demo.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Issues and verifies HS256-signed bearer tokens (JWT compact form) so requests can be
+ * authenticated without touching the employee table.
+ * <p>
+ * Signing keys come from a PKCS12 keystore of secret-key entries: every entry can verify, the
+ * active alias signs, and the file is re-read when it changes so keys can be rotated by dropping
+ * in a new keystore on each node. Without a keystore a random key is generated at startup,
+ * which only suits a single node because tokens do not survive a restart.
+ * <p>
+ * Revocations take effect at once on the node that received them and are written to the
+ * token_revocation table; every node polls that table from a scheduled task on
+ * revocation.poll-interval (the keystore reload interval unless set) and keeps the result in memory,
+ * so verifying a token never waits on the database. Revocations are forgotten once the revoked
+ * tokens would have expired anyway.
+ * <p>
+ * {@code iat} is written with millisecond precision (a fractional NumericDate) and revocation times
+ * are kept at the same precision, so a token issued right after its subject was revoked is accepted.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {};
+
+    private static final String INSERT_REVOCATION_SQL = "INSERT INTO token_revocation "
+            + "(token_id, employee_id, revoked_at, expires_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${security.token.ttl:1h}")
+    private Duration ttl;
+
+    @Value("${security.token.clock-skew:30s}")
+    private Duration clockSkew;
+
+    @Value("${security.token.keystore.path:}")
+    private String keystorePath;
+
+    @Value("${security.token.keystore.password:}")
+    private String keystorePassword;
+
+    @Value("${security.token.keystore.active-alias:}")
+    private String activeAlias;
+
+    @Value("${security.token.keystore.reload-interval:60s}")
+    private Duration reloadInterval;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> subjectRevokedAt = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: the keystore is read from disk while it is held, which
+    // would pin a virtual carrier thread.
+    private final ReentrantLock keyReloadLock = new ReentrantLock();
+
+    private volatile KeySet keySet;
+    private volatile long nextReloadCheck;
+    // revoked_at of the newest row seen so far; null until the first poll has loaded every live row.
+    // Only the scheduled poll reads and writes it.
+    private Instant lastRevocationSeen;
+
+    /**
+     * @param name the employee's display name, carried in the token so requests can be served without
+     *             reading the employee row; changing the row revokes the token
+     */
+    public IssuedToken issue(String employeeId, String role, String name) {
+        KeySet keys = currentKeys();
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant expiresAt = issuedAt.plus(ttl);
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", "HS256");
+        header.put("typ", "JWT");
+        header.put("kid", keys.activeKeyId());
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", employeeId);
+        claims.put("role", role);
+        if (name != null) {
+            claims.put("name", name);
+        }
+        claims.put("iat", BigDecimal.valueOf(issuedAt.toEpochMilli(), 3));
+        claims.put("exp", expiresAt.getEpochSecond());
+        claims.put("jti", newTokenId());
+
+        String signingInput = encodeJson(header) + "." + encodeJson(claims);
+        String signature = ENCODER.encodeToString(sign(keys.keys().get(keys.activeKeyId()), signingInput));
+        return new IssuedToken(signingInput + "." + signature, Instant.ofEpochSecond(expiresAt.getEpochSecond()));
+    }
+
+    /**
+     * Checks signature, expiry and the revocation lists. Throws a Spring Security
+     * AuthenticationException when the token must not be accepted.
+     */
+    public TokenClaims verify(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new BadCredentialsException("Malformed token");
+        }
+        Map<String, Object> header = decodeJson(parts[0]);
+        if (!"HS256".equals(header.get("alg")) || !(header.get("kid") instanceof String keyId)) {
+            throw new BadCredentialsException("Unsupported token header");
+        }
+        SecretKey key = currentKeys().keys().get(keyId);
+        if (key == null) {
+            throw new BadCredentialsException("Unknown signing key");
+        }
+        byte[] expected = sign(key, parts[0] + "." + parts[1]);
+        byte[] actual;
+        try {
+            actual = DECODER.decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed token signature");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new BadCredentialsException("Invalid token signature");
+        }
+
+        Map<String, Object> claims = decodeJson(parts[1]);
+        TokenClaims tokenClaims;
+        try {
+            tokenClaims = new TokenClaims(
+                    (String) Objects.requireNonNull(claims.get("jti")),
+                    (String) Objects.requireNonNull(claims.get("sub")),
+                    (String) Objects.requireNonNull(claims.get("role")),
+                    (String) claims.get("name"),
+                    toInstant((Number) claims.get("iat")),
+                    Instant.ofEpochSecond(((Number) claims.get("exp")).longValue()));
+        } catch (ClassCastException | NullPointerException e) {
+            throw new BadCredentialsException("Malformed token claims");
+        }
+
+        Instant now = Instant.now();
+        if (now.isAfter(tokenClaims.expiresAt().plus(clockSkew))) {
+            throw new CredentialsExpiredException("Token expired");
+        }
+        if (revokedTokens.containsKey(tokenClaims.tokenId())) {
+            throw new BadCredentialsException("Token revoked");
+        }
+        Instant revokedAt = subjectRevokedAt.get(tokenClaims.subject());
+        if (revokedAt != null && !tokenClaims.issuedAt().isAfter(revokedAt)) {
+            throw new BadCredentialsException("Token revoked");
+        }
+        return tokenClaims;
+    }
+
+    public void revoke(TokenClaims claims) {
+        revokedTokens.put(claims.tokenId(), claims.expiresAt());
+        saveRevocation(claims.tokenId(), null, Instant.now(), claims.expiresAt());
+        purgeRevocations();
+        logger.info("Revoked token {} for employee_id: {}", claims.tokenId(), claims.subject());
+    }
+
+    /**
+     * Rejects every token issued to the employee up to now.
+     */
+    public void revokeSubject(String employeeId) {
+        // The precision of iat: a token issued in a later millisecond is accepted.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        subjectRevokedAt.merge(employeeId, now, TokenService::later);
+        saveRevocation(null, employeeId, now, now.plus(ttl));
+        purgeRevocations();
+        logger.info("Revoked all tokens for employee_id: {}", employeeId);
+    }
+
+    /**
+     * Writes a revocation for the other nodes. Called from JPA entity listeners during a flush, so it
+     * goes through JDBC; a failure is logged rather than thrown because the revocation already holds
+     * on this node.
+     */
+    private void saveRevocation(String tokenId, String employeeId, Instant revokedAt, Instant expiresAt) {
+        try {
+            jdbcTemplate.update(INSERT_REVOCATION_SQL, tokenId, employeeId,
+                    Timestamp.from(revokedAt), Timestamp.from(expiresAt));
+        } catch (DataAccessException e) {
+            logger.error("Failed to share revocation of token {} / employee_id {} with other nodes: {}",
+                    tokenId, employeeId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Merges revocations written by any node since the last poll. The query looks back clock-skew
+     * before the newest row seen, which covers rows committed late and clocks that differ between nodes.
+     */
+    @Scheduled(fixedDelayString = "${security.token.revocation.poll-interval:${security.token.keystore.reload-interval:60s}}")
+    public void pollRevocations() {
+        try {
+            Instant cutoff = Instant.now().minus(clockSkew);
+            String sql = "SELECT token_id, employee_id, revoked_at, expires_at FROM token_revocation WHERE "
+                    + (lastRevocationSeen == null ? "expires_at >= ?" : "revoked_at >= ?");
+            Instant since = lastRevocationSeen == null ? cutoff : lastRevocationSeen.minus(clockSkew);
+            Instant[] newest = {lastRevocationSeen == null ? cutoff : lastRevocationSeen};
+            int[] polled = {0};
+            jdbcTemplate.query(sql, rs -> {
+                Instant revokedAt = rs.getTimestamp("revoked_at").toInstant();
+                String tokenId = rs.getString("token_id");
+                String employeeId = rs.getString("employee_id");
+                if (tokenId != null) {
+                    revokedTokens.merge(tokenId, rs.getTimestamp("expires_at").toInstant(), TokenService::later);
+                } else if (employeeId != null) {
+                    subjectRevokedAt.merge(employeeId, revokedAt, TokenService::later);
+                }
+                newest[0] = later(newest[0], revokedAt);
+                polled[0]++;
+            }, Timestamp.from(since));
+            lastRevocationSeen = newest[0];
+            int purged = jdbcTemplate.update("DELETE FROM token_revocation WHERE expires_at < ?", Timestamp.from(cutoff));
+            purgeRevocations();
+            logger.debug("Polled {} token revocation(s), purged {} expired", polled[0], purged);
+        } catch (DataAccessException e) {
+            logger.error("Failed to poll token revocations; keeping the current lists: {}", e.getMessage());
+        }
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return b.isAfter(a) ? b : a;
+    }
+
+    // iat is fractional since millisecond precision was added; older tokens carry whole seconds.
+    private static Instant toInstant(Number numericDate) {
+        if (numericDate instanceof Double || numericDate instanceof Float || numericDate instanceof BigDecimal) {
+            return Instant.ofEpochMilli(new BigDecimal(numericDate.toString()).movePointRight(3).longValue());
+        }
+        return Instant.ofEpochSecond(numericDate.longValue());
+    }
+
+    private void purgeRevocations() {
+        Instant cutoff = Instant.now().minus(clockSkew);
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(cutoff));
+        Instant subjectCutoff = cutoff.minus(ttl);
+        subjectRevokedAt.values().removeIf(revokedAt -> revokedAt.isBefore(subjectCutoff));
+    }
+
+    private KeySet currentKeys() {
+        KeySet keys = keySet;
+        long now = System.currentTimeMillis();
+        if (keys != null && now < nextReloadCheck) {
+            return keys;
+        }
+        keyReloadLock.lock();
+        try {
+            if (keySet != null && now < nextReloadCheck) {
+                return keySet;
+            }
+            nextReloadCheck = now + reloadInterval.toMillis();
+            if (keystorePath.isBlank()) {
+                if (keySet == null) {
+                    byte[] secret = new byte[32];
+                    random.nextBytes(secret);
+                    keySet = new KeySet("ephemeral", Map.of("ephemeral", new SecretKeySpec(secret, HMAC_ALGORITHM)), -1);
+                    logger.warn("No security.token.keystore.path set; signing tokens with a random per-process key");
+                }
+                return keySet;
+            }
+            try {
+                long modified = Files.getLastModifiedTime(Path.of(keystorePath)).toMillis();
+                if (keySet == null || keySet.lastModified() != modified) {
+                    keySet = loadKeystore(modified);
+                    logger.info("Loaded {} token signing keys from {}; active key {}",
+                            keySet.keys().size(), keystorePath, keySet.activeKeyId());
+                }
+            } catch (IOException | GeneralSecurityException e) {
+                if (keySet == null) {
+                    throw new IllegalStateException("Cannot load token keystore " + keystorePath, e);
+                }
+                logger.error("Failed to reload token keystore {}; keeping previous keys: {}", keystorePath, e.getMessage());
+            }
+            return keySet;
+        } finally {
+            keyReloadLock.unlock();
+        }
+    }
+
+    private KeySet loadKeystore(long lastModified) throws IOException, GeneralSecurityException {
+        char[] password = keystorePassword.toCharArray();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(Path.of(keystorePath))) {
+            keyStore.load(in, password);
+        }
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (!keyStore.isKeyEntry(alias)) {
+                continue;
+            }
+            Key key = keyStore.getKey(alias, password);
+            if (key instanceof SecretKey secretKey) {
+                keys.put(alias, new SecretKeySpec(secretKey.getEncoded(), HMAC_ALGORITHM));
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new GeneralSecurityException("Keystore contains no secret keys");
+        }
+        // Without an explicit active alias, sign with the alias that sorts last (e.g. the newest dated key).
+        String active = activeAlias.isBlank() ? Collections.max(keys.keySet()) : activeAlias;
+        if (!keys.containsKey(active)) {
+            throw new GeneralSecurityException("Active alias " + active + " not found in keystore");
+        }
+        return new KeySet(active, Map.copyOf(keys), lastModified);
+    }
+
+    private byte[] sign(SecretKey key, String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private String newTokenId() {
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return ENCODER.encodeToString(id);
+    }
+
+    private String encodeJson(Map<String, Object> value) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize token", e);
+        }
+    }
+
+    private Map<String, Object> decodeJson(String part) {
+        try {
+            return objectMapper.readValue(DECODER.decode(part), CLAIMS_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed token");
+        }
+    }
+
+    private record KeySet(String activeKeyId, Map<String, SecretKey> keys, long lastModified) {
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    /**
+     * @param name the employee's display name; null for tokens issued before names were carried
+     */
+    public record TokenClaims(String tokenId, String subject, String role, String name, Instant issuedAt, Instant expiresAt) {
+    }
+}
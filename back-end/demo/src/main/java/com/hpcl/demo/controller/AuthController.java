@@ -0,0 +1,92 @@
+package com.hpcl.demo.controller;
+
+import com.hpcl.demo.config.TokenService;
+import com.hpcl.demo.service.EmployeeDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api")
+public class AuthController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
+    @Autowired
+    private AuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+
+    @PostMapping("/public/auth/login")
+    public ResponseEntity<Map<String, Object>> login(@RequestBody LoginRequest request) {
+        if (request.getEmployeeId() == null || request.getPassword() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationProvider.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getEmployeeId(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            logger.warn("Login failed for employee_id: {}", request.getEmployeeId());
+            return ResponseEntity.status(401).build();
+        }
+
+        String role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
+        if (role == null) {
+            return ResponseEntity.status(403).build();
+        }
+        String name = employeeDirectory.resolveName(authentication.getName(), null);
+        TokenService.IssuedToken issued = tokenService.issue(authentication.getName(), role, name);
+        logger.debug("Issued token for employee_id: {} expiring at {}", authentication.getName(), issued.expiresAt());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("token", issued.token());
+        body.put("tokenType", "Bearer");
+        body.put("expiresAt", issued.expiresAt().toString());
+        body.put("employeeId", authentication.getName());
+        body.put("role", role);
+        return ResponseEntity.ok(body);
+    }
+
+    @PostMapping("/employee/auth/logout")
+    public ResponseEntity<Void> logout(Authentication authentication) {
+        if (authentication.getDetails() instanceof TokenService.TokenClaims claims) {
+            tokenService.revoke(claims);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/owner/auth/revoke/{employeeId}")
+    public ResponseEntity<Void> revokeEmployeeTokens(@PathVariable String employeeId) {
+        tokenService.revokeSubject(employeeId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static class LoginRequest {
+        private String employeeId;
+        private String password;
+
+        public String getEmployeeId() { return employeeId; }
+        public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
@@ -1,23 +1,63 @@
 package com.hpcl.demo.controller;
 
+import com.hpcl.demo.config.ServerTiming;
+import com.hpcl.demo.config.TokenService;
 import com.hpcl.demo.entity.*;
 import com.hpcl.demo.repository.ActivityLogRepository;
+import com.hpcl.demo.service.ActivityLogWriter;
+import com.hpcl.demo.service.EmployeeDirectory;
+import com.hpcl.demo.service.ExportFormat;
+import com.hpcl.demo.service.FormDefinition;
+import com.hpcl.demo.service.FormDefinitionCache;
 import com.hpcl.demo.service.FormService;
+import com.hpcl.demo.service.FormStatsTracker;
+import com.hpcl.demo.service.IdempotencyStore;
+import com.hpcl.demo.service.LevelCompletionTracker;
+import com.hpcl.demo.service.RecordLocks;
+import com.hpcl.demo.service.ResponseExportService;
+import com.hpcl.demo.service.ResponseImportService;
+import com.hpcl.demo.service.ResponseMerger;
+import com.hpcl.demo.service.ResponsePage;
+import com.hpcl.demo.service.ResponseReader;
+import com.hpcl.demo.service.ResponseSort;
+import com.hpcl.demo.service.StoredResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.hpcl.demo.repository.EmployeeRepository;
+import com.hpcl.demo.repository.FormEmployeeLevelRepository;
+import com.hpcl.demo.repository.FormEmployeeStatsRepository;
 import com.hpcl.demo.repository.FormRepository;
+import com.hpcl.demo.repository.FormStatsRepository;
 import com.hpcl.demo.repository.ResponseRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -29,6 +69,9 @@ public class FormController {
 
     private static final Logger logger = LoggerFactory.getLogger(FormController.class);
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     @Autowired
     private FormService formService;
 
@@ -44,9 +87,67 @@ public class FormController {
     @Autowired
     private ActivityLogRepository activityLogRepository;
 
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+
+    @Autowired
+    private FormEmployeeLevelRepository formEmployeeLevelRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private FormDefinitionCache formDefinitionCache;
+
+    @Autowired
+    private LevelCompletionTracker levelCompletionTracker;
+
+    @Autowired
+    private FormStatsTracker formStatsTracker;
+
+    @Autowired
+    private FormStatsRepository formStatsRepository;
+
+    @Autowired
+    private FormEmployeeStatsRepository formEmployeeStatsRepository;
+
+    @Autowired
+    private ResponseReader responseReader;
+
+    @Autowired
+    private ResponseExportService responseExportService;
+
+    @Autowired
+    private ResponseImportService responseImportService;
+
+    @Autowired
+    private RecordLocks recordLocks;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    @Qualifier("appTaskExecutor")
+    private Executor appTaskExecutor;
+
+    @Value("${responses.page.max-size:500}")
+    private int maxResponsePageSize;
+
+    @Value("${responses.batch.max-records:500}")
+    private int maxBatchRecords;
+
+    @Value("${responses.merge.max-attempts:3}")
+    private int maxMergeAttempts;
+
+    @Value("${forms.summary.max-page-size:500}")
+    private int maxFormSummaryPageSize;
+
+    @Value("${forms.responses.max-forms:100}")
+    private int maxResponseForms;
+
     @GetMapping("/employee/profile")
     public ResponseEntity<Employee> getProfile(Authentication authentication) {
         String employeeId = authentication.getName();
@@ -66,7 +167,7 @@ public class FormController {
     @GetMapping("/employee/forms")
     public ResponseEntity<List<Form>> getForms(Authentication authentication) {
         String employeeId = authentication.getName();
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(authentication);
         if (employee == null) {
             logger.error("Employee ID {} not found", employeeId);
             return ResponseEntity.notFound().build();
@@ -76,32 +177,44 @@ public class FormController {
         if (employee.getRole() == Employee.Role.OWNER) {
             forms = formRepository.findAll();
         } else {
-            List<Form> ownedForms = formRepository.findByOwnerEmployeeId(employeeId);
-            List<Form> assignedForms = formRepository.findAll().stream()
-                    .filter(form -> {
-                        try {
-                            FormContent formContent = objectMapper.readValue(form.getFormContent(), FormContent.class);
-                            Map<Integer, List<String>> levelAssignments = formContent.getLevelAssignments();
-                            return levelAssignments.values().stream()
-                                    .anyMatch(employeeIds -> employeeIds.contains(employeeId));
-                        } catch (Exception e) {
-                            logger.error("Error parsing form content for form ID {}: {}", form.getId(), e.getMessage());
-                            return false;
-                        }
-                    })
-                    .collect(Collectors.toList());
-            forms = Stream.concat(ownedForms.stream(), assignedForms.stream())
-                    .distinct()
-                    .collect(Collectors.toList());
+            forms = formRepository.findVisibleToEmployee(employeeId);
         }
         return ResponseEntity.ok(forms);
     }
 
+    /**
+     * Same forms as {@link #getForms}, as summaries without the form content. Paged when {@code size}
+     * is given; {@code titlePrefix} filters on the start of the title.
+     */
+    @GetMapping("/employee/forms/summary")
+    public ResponseEntity<List<FormRepository.FormSummary>> getFormSummaries(@RequestParam(required = false) String titlePrefix,
+                                                                            @RequestParam(defaultValue = "0") int page,
+                                                                            @RequestParam(required = false) Integer size,
+                                                                            Authentication authentication) {
+        String employeeId = authentication.getName();
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+        if (page < 0 || (size != null && (size < 1 || size > maxFormSummaryPageSize))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Pageable pageable = size != null ? PageRequest.of(page, size) : Pageable.unpaged();
+        String titlePattern = titlePrefix == null ? "%"
+                : titlePrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<FormRepository.FormSummary> summaries = employee.getRole() == Employee.Role.OWNER
+                ? formRepository.findSummaries(titlePattern, pageable)
+                : formRepository.findSummariesVisibleToEmployee(employeeId, titlePattern, pageable);
+        return ResponseEntity.ok(summaries);
+    }
+
     @GetMapping("/employee/form/{id}")
     public ResponseEntity<Form> getFormById(@PathVariable Long id, Authentication authentication) {
         String employeeId = authentication.getName();
         logger.debug("Fetching form ID {} for employee ID {}", id, employeeId);
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(authentication);
         if (employee == null) {
             logger.error("Employee ID {} not found", employeeId);
             return ResponseEntity.notFound().build();
@@ -114,68 +227,64 @@ public class FormController {
         }
 
         Form formEntity = form.get();
-        FormContent formContent;
+        FormDefinition definition;
         try {
             if (formEntity.getFormContent() == null || formEntity.getFormContent().isEmpty()) {
                 logger.error("Form content is null or empty for form ID {}", id);
                 return ResponseEntity.status(400).build();
             }
-            formContent = objectMapper.readValue(formEntity.getFormContent(), FormContent.class);
-            logger.debug("Form content parsed for form ID {} successfully", id);
+            definition = formDefinitionCache.get(formEntity);
+            logger.debug("Form definition resolved for form ID {} successfully", id);
         } catch (Exception e) {
             logger.error("Error parsing form content for form ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).build();
         }
 
-        if (!hasFormAccess(employee, formEntity, formContent)) {
+        if (!hasFormAccess(employee, formEntity, definition)) {
             logger.warn("Employee ID {} is not assigned to any level for form ID {}", employeeId, id);
             return ResponseEntity.status(403).build();
         }
 
-        List<String> accessibleFieldIds = (employee.getRole() == Employee.Role.OWNER || formEntity.getOwnerEmployeeId().equals(employeeId))
-                ? formContent.getFields().stream().map(Field::getId).collect(Collectors.toList())
-                : formContent.getFields().stream()
-                .filter(field -> field.getLevelNumbers() != null && field.getLevelNumbers().stream()
-                        .anyMatch(levelNum -> formContent.getLevelAssignments().getOrDefault(levelNum, new ArrayList<>()).contains(employeeId)))
-                .map(Field::getId)
-                .collect(Collectors.toList());
-
-        Map<Integer, List<String>> levelAssignments = formContent.getLevelAssignments();
-        List<Integer> levelPriorityOrder = formContent.getLevelPriorityOrder();
-        List<Integer> employeeLevels = levelAssignments.entrySet().stream()
-                .filter(entry -> entry.getValue().contains(employeeId))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        try {
+            return ResponseEntity.ok(buildFormView(employee, formEntity, definition));
+        } catch (JsonProcessingException e) {
+            logger.error("Error serializing form content for form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Replaces the form content of the entity with what this employee sees: the definition plus the
+     * accessible fields, whether the current level can be filled and the answers of higher levels.
+     */
+    private Form buildFormView(Employee employee, Form formEntity, FormDefinition definition) throws JsonProcessingException {
+        Long id = formEntity.getId();
+        String employeeId = employee.getEmployeeId();
+        List<String> accessibleFieldIds;
+        try (ServerTiming.Phase ignored = ServerTiming.phase("access")) {
+            accessibleFieldIds = (employee.getRole() == Employee.Role.OWNER || formEntity.getOwnerEmployeeId().equals(employeeId))
+                    ? definition.getFields().stream().map(Field::getId).collect(Collectors.toList())
+                    : definition.getAccessibleFieldIds(employeeId);
+        }
+
+        int lowestEmployeeLevelPriority = definition.getHighestPriorityRank(employeeId);
         boolean canFillCurrentLevel = employee.getRole() == Employee.Role.OWNER || formEntity.getOwnerEmployeeId().equals(employeeId);
         if (!canFillCurrentLevel) {
-            int lowestEmployeeLevelPriority = levelPriorityOrder.stream()
-                    .filter(employeeLevels::contains)
-                    .mapToInt(level -> levelPriorityOrder.indexOf(level))
-                    .min()
-                    .orElse(Integer.MAX_VALUE);
-            canFillCurrentLevel = isHigherPriorityLevelsFilled(id, levelPriorityOrder, lowestEmployeeLevelPriority, levelAssignments, formContent.getFields());
+            canFillCurrentLevel = isHigherPriorityLevelsFilled(definition, lowestEmployeeLevelPriority);
         }
 
         Map<String, List<FieldResponse>> higherPriorityResponses = new HashMap<>();
         if (!employee.getRole().equals(Employee.Role.OWNER) && !formEntity.getOwnerEmployeeId().equals(employeeId)) {
-            int lowestEmployeeLevelPriority = levelPriorityOrder.stream()
-                    .filter(employeeLevels::contains)
-                    .mapToInt(level -> levelPriorityOrder.indexOf(level))
-                    .min()
-                    .orElse(Integer.MAX_VALUE);
-            List<Integer> relevantLevels = levelPriorityOrder.subList(0, Math.min(lowestEmployeeLevelPriority + 1, levelPriorityOrder.size()));
-            List<String> relevantFieldIds = formContent.getFields().stream()
-                    .filter(field -> field.getLevelNumbers().stream().anyMatch(relevantLevels::contains))
-                    .map(Field::getId)
-                    .collect(Collectors.toList());
+            Set<String> relevantFieldIds = definition.getFieldIdsUpToRank(lowestEmployeeLevelPriority);
 
             List<Response> responses = responseRepository.findByFormIdOrderByIdDesc(id);
+            Map<String, String> respondentNames = employeeDirectory.resolveNames(
+                    responses.stream().map(Response::getEmployeeId).collect(Collectors.toSet()));
             Map<String, Map<String, FieldResponse>> latestResponsesByEmployeeAndField = new HashMap<>();
 
             for (Response response : responses) {
                 try {
-                    Employee respondent = employeeRepository.findByEmployeeId(response.getEmployeeId());
-                    String respondentName = respondent != null ? respondent.getEmployeeName() : response.getEmployeeId();
+                    String respondentName = respondentNames.getOrDefault(response.getEmployeeId(), response.getEmployeeId());
                     List<FieldResponse> fieldResponses = objectMapper.readValue(response.getResponses(),
                             objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
 
@@ -202,68 +311,160 @@ public class FormController {
             });
         }
 
+        FormContent formContent = definition.toFormContent();
         formContent.setAccessibleFieldIds(accessibleFieldIds);
         formContent.setCanFillCurrentLevel(canFillCurrentLevel);
         formContent.setHigherPriorityResponses(higherPriorityResponses);
+        formEntity.setFormContent(objectMapper.writeValueAsString(formContent));
+        return formEntity;
+    }
+
+    /**
+     * Form, responses and activity of one form in a single call, i.e. what {@link #getFormById},
+     * {@link #getFormResponses} and {@link #getFormActivity} return. The employee is authenticated and the
+     * form parsed once; responses and activity are read on the application executor while the form view
+     * is built. Sections can be left out with includeForm, includeResponses and includeActivity.
+     */
+    @GetMapping("/employee/form/{id}/workspace")
+    public ResponseEntity<FormWorkspaceDTO> getFormWorkspace(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "true") boolean includeForm,
+                                                             @RequestParam(defaultValue = "true") boolean includeResponses,
+                                                             @RequestParam(defaultValue = "true") boolean includeActivity,
+                                                             Authentication authentication) {
+        String employeeId = authentication.getName();
+        logger.debug("Fetching workspace of form ID {} for employee ID {}", id, employeeId);
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Form> form = formRepository.findById(id);
+        if (form.isEmpty()) {
+            logger.error("Form ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
 
+        Form formEntity = form.get();
+        if (formEntity.getFormContent() == null || formEntity.getFormContent().isEmpty()) {
+            logger.error("Form content is null or empty for form ID {}", id);
+            return ResponseEntity.status(400).build();
+        }
+        FormDefinition definition;
         try {
-            formEntity.setFormContent(objectMapper.writeValueAsString(formContent));
+            definition = formDefinitionCache.get(formEntity);
         } catch (Exception e) {
+            logger.error("Error parsing form content for form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+
+        if (!hasFormAccess(employee, formEntity, definition)) {
+            logger.warn("Employee ID {} is not assigned to any level for form ID {}", employeeId, id);
+            return ResponseEntity.status(403).build();
+        }
+
+        // Anyone with access to the form sees every field of its responses, as in getFormResponses.
+        Set<String> fieldIds = definition.getFields().stream().map(Field::getId).collect(Collectors.toSet());
+        CompletableFuture<List<FormResponseDTO>> responses = includeResponses
+                ? CompletableFuture.supplyAsync(ServerTiming.propagate(() -> toFormResponseDTOs(responseReader.read(id, fieldIds), definition)), appTaskExecutor)
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<List<Map<String, Object>>> activity = includeActivity
+                ? CompletableFuture.supplyAsync(ServerTiming.propagate(() -> readFormActivity(id)), appTaskExecutor)
+                : CompletableFuture.completedFuture(null);
+
+        try {
+            Form formView = includeForm ? buildFormView(employee, formEntity, definition) : null;
+            return ResponseEntity.ok(new FormWorkspaceDTO(formView, responses.join(), activity.join()));
+        } catch (JsonProcessingException e) {
             logger.error("Error serializing form content for form ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).build();
+        } catch (CompletionException e) {
+            logger.error("Error reading workspace of form ID {}: {}", id, e.getCause().getMessage(), e.getCause());
+            return ResponseEntity.status(500).build();
         }
+    }
 
-        return ResponseEntity.ok(formEntity);
+    /**
+     * The calling employee. Bearer requests are answered from the token claims, which hold the id,
+     * name and role and are revoked whenever the employee row changes; HTTP Basic requests, and tokens
+     * issued without a name, read the row. Only id, name and role are set on the result.
+     */
+    private Employee currentEmployee(Authentication authentication) {
+        if (authentication.getDetails() instanceof TokenService.TokenClaims claims && claims.name() != null) {
+            try {
+                Employee employee = new Employee();
+                employee.setEmployeeId(claims.subject());
+                employee.setEmployeeName(claims.name());
+                employee.setRole(Employee.Role.valueOf(claims.role()));
+                return employee;
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown role {} in token of employee ID {}", claims.role(), claims.subject());
+            }
+        }
+        return employeeRepository.findByEmployeeId(authentication.getName());
+    }
+
+    private boolean hasFormAccess(Employee employee, Form form, FormDefinition definition) {
+        try (ServerTiming.Phase ignored = ServerTiming.phase("access")) {
+            return employee.getRole() == Employee.Role.OWNER ||
+                    form.getOwnerEmployeeId().equals(employee.getEmployeeId()) ||
+                    definition.isAssigned(employee.getEmployeeId());
+        }
     }
 
-    private boolean hasFormAccess(Employee employee, Form form, FormContent formContent) {
+    /**
+     * Owners and the form's owner may write every field; everyone else only the fields of their levels.
+     */
+    private boolean canWriteField(Employee employee, Form form, FormDefinition definition, String fieldId) {
         return employee.getRole() == Employee.Role.OWNER ||
                 form.getOwnerEmployeeId().equals(employee.getEmployeeId()) ||
-                formContent.getLevelAssignments().values().stream()
-                        .anyMatch(employeeIds -> employeeIds.contains(employee.getEmployeeId()));
+                definition.canAccessField(employee.getEmployeeId(), fieldId);
     }
 
-    private boolean isHigherPriorityLevelsFilled(Long formId, List<Integer> levelPriorityOrder, int currentLevelPriorityIndex, Map<Integer, List<String>> levelAssignments, List<Field> fields) {
+    private boolean isHigherPriorityLevelsFilled(FormDefinition definition, int currentLevelPriorityIndex) {
         if (currentLevelPriorityIndex == 0) {
             return true;
         }
 
-        List<Integer> higherPriorityLevels = levelPriorityOrder.subList(0, currentLevelPriorityIndex);
-        List<String> higherPriorityFieldIds = fields.stream()
-                .filter(field -> field.getLevelNumbers().stream().anyMatch(higherPriorityLevels::contains))
-                .map(Field::getId)
-                .collect(Collectors.toList());
-
-        if (higherPriorityFieldIds.isEmpty()) {
-            return true;
-        }
-
-        List<Response> responses = responseRepository.findByFormId(formId);
-        Set<String> respondedFieldIds = new HashSet<>();
-        for (Response response : responses) {
-            try {
-                List<FieldResponse> fieldResponses = objectMapper.readValue(response.getResponses(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
-                fieldResponses.stream()
-                        .filter(fr -> higherPriorityFieldIds.contains(fr.getFieldId()))
-                        .forEach(fr -> respondedFieldIds.add(fr.getFieldId()));
-            } catch (Exception e) {
-                logger.error("Error parsing response ID {}: {}", response.getId(), e.getMessage());
-            }
-        }
-
-        return higherPriorityFieldIds.stream().allMatch(respondedFieldIds::contains);
+        List<Integer> levelPriorityOrder = definition.getLevelPriorityOrder();
+        List<Integer> higherPriorityLevels = levelPriorityOrder.subList(0, Math.min(currentLevelPriorityIndex, levelPriorityOrder.size()));
+        return levelCompletionTracker.areLevelsFilled(definition, higherPriorityLevels);
     }
 
+    /**
+     * Creates or merges one record. With an Idempotency-Key header, a repeat of a request that already
+     * succeeded gets the stored outcome back (marked Idempotent-Replayed) without being applied again.
+     */
     @PostMapping("/employee/form/{id}/response")
-    public ResponseEntity<?> submitResponse(@PathVariable Long id, @RequestBody ResponseRequest responseRequest, Authentication auth) {
+    public ResponseEntity<?> submitResponse(@PathVariable Long id, @RequestBody ResponseRequest responseRequest,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                            Authentication auth) {
         String authEmployeeId = auth.getName();
-        Employee authEmployee = employeeRepository.findByEmployeeId(authEmployeeId);
+        Employee authEmployee = currentEmployee(auth);
         if (authEmployee == null) {
             logger.error("Authenticated employee ID {} not found", authEmployeeId);
             return ResponseEntity.notFound().build();
         }
 
+        String scopeHash = null;
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+                return ResponseEntity.badRequest().body(Map.of("message", "The Idempotency-Key header must be 1 to 255 characters."));
+            }
+            try {
+                scopeHash = IdempotencyStore.hash("POST /employee/form/{id}/response", authEmployeeId, String.valueOf(id), idempotencyKey);
+                requestHash = IdempotencyStore.hash(objectMapper.writeValueAsString(responseRequest));
+            } catch (Exception e) {
+                logger.error("Error hashing idempotent request for form ID {}: {}", id, e.getMessage());
+                return ResponseEntity.status(500).build();
+            }
+            Optional<IdempotencyStore.Outcome> stored = idempotencyStore.find(scopeHash);
+            if (stored.isPresent()) {
+                return replayOutcome(stored.get(), requestHash);
+            }
+        }
+
         Optional<Form> formOpt = formRepository.findById(id);
         if (formOpt.isEmpty()) {
             logger.error("Form ID {} not found", id);
@@ -277,13 +478,25 @@ public class FormController {
             return ResponseEntity.status(403).body(Map.of("message", "This form is inactive and does not accept new responses."));
         }
 
-        FormContent formContent;
+        FormDefinition definition;
         try {
-            formContent = objectMapper.readValue(formEntity.getFormContent(), FormContent.class);
+            definition = formDefinitionCache.get(formEntity);
         } catch (Exception e) {
             logger.error("Error parsing form content for response submission, form ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).body(null);
         }
+        if (!hasFormAccess(authEmployee, formEntity, definition)) {
+            logger.warn("Unauthorized submission to form ID {} by employee ID {}", id, authEmployeeId);
+            return ResponseEntity.status(403).build();
+        }
+        if (responseRequest.getResponses() != null) {
+            for (ResponseRequest.FieldResponse fr : responseRequest.getResponses()) {
+                if (fr != null && !canWriteField(authEmployee, formEntity, definition, fr.getFieldId())) {
+                    logger.warn("Unauthorized submission of field {} in form ID {} by employee ID {}", fr.getFieldId(), id, authEmployeeId);
+                    return ResponseEntity.status(403).body(Map.of("message", "You cannot change field " + fr.getFieldId() + "."));
+                }
+            }
+        }
 
         String recordId = responseRequest.getRecordId();
         if (recordId == null || recordId.isEmpty()) {
@@ -291,6 +504,79 @@ public class FormController {
             return ResponseEntity.badRequest().build();
         }
 
+        try (RecordLocks.Held ignored = recordLocks.lock(id, recordId)) {
+            if (scopeHash == null) {
+                return mergeWithRetry(id, recordId, formEntity, authEmployee, responseRequest);
+            }
+            // A duplicate that arrived while the first request was still running finds its outcome now.
+            Optional<IdempotencyStore.Outcome> stored = idempotencyStore.find(scopeHash);
+            if (stored.isPresent()) {
+                return replayOutcome(stored.get(), requestHash);
+            }
+            ResponseEntity<?> result = mergeWithRetry(id, recordId, formEntity, authEmployee, responseRequest);
+            if (result.getStatusCode().is2xxSuccessful()) {
+                try {
+                    idempotencyStore.save(scopeHash, authEmployeeId, requestHash, result.getStatusCode().value(),
+                            objectMapper.writeValueAsString(result.getBody()));
+                } catch (Exception e) {
+                    logger.error("Error storing idempotent outcome for recordId {} of form ID {}: {}", recordId, id, e.getMessage(), e);
+                }
+            }
+            return result;
+        }
+    }
+
+    private ResponseEntity<?> mergeWithRetry(Long id, String recordId, Form formEntity, Employee authEmployee,
+                                             ResponseRequest responseRequest) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return mergeAndSaveResponse(id, recordId, formEntity, authEmployee, responseRequest);
+            } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+                // A duplicate merge key is another node inserting the same record first; the next attempt
+                // finds its row and merges into it. Other integrity errors are not conflicts.
+                if (e instanceof DataIntegrityViolationException violation && !isRecordKeyConflict(violation)) {
+                    logger.error("Error saving recordId {} of form ID {}: {}", recordId, id, violation.getMessage(), violation);
+                    return ResponseEntity.status(500).build();
+                }
+                if (attempt >= maxMergeAttempts) {
+                    logger.warn("Giving up on recordId {} of form ID {} after {} concurrent updates", recordId, id, attempt);
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(Map.of("message", "The record is being changed by someone else, please try again."));
+                }
+                logger.debug("RecordId {} of form ID {} changed concurrently, merging again", recordId, id);
+            }
+        }
+    }
+
+    private static boolean isRecordKeyConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                // MySQL reports the key as "responses.uk_responses_form_record".
+                String constraintName = violation.getConstraintName();
+                return constraintName != null && constraintName.toLowerCase(Locale.ROOT).endsWith(Response.RECORD_KEY);
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<?> replayOutcome(IdempotencyStore.Outcome outcome, String requestHash) {
+        if (!outcome.requestHash().equals(requestHash)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(Map.of("message", "The Idempotency-Key was already used for a different request."));
+        }
+        return ResponseEntity.status(outcome.statusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(outcome.body());
+    }
+
+    /**
+     * Reads the current row of a record, merges the submitted answers into it and saves it. Runs again
+     * from the read when the save loses the version check to a concurrent update.
+     */
+    private ResponseEntity<?> mergeAndSaveResponse(Long id, String recordId, Form formEntity, Employee authEmployee,
+                                                   ResponseRequest responseRequest) {
+        String authEmployeeId = authEmployee.getEmployeeId();
         String targetEmployeeId = authEmployeeId;
 
         Response existingResponse = responseRepository.findByFormIdAndRecordId(id, recordId)
@@ -300,10 +586,12 @@ public class FormController {
 
         Response response;
         String actionType = "SUBMIT";
+        Set<String> previousFieldIds = new HashSet<>();
+        List<FieldResponse> upsertedFields = new ArrayList<>();
         if (existingResponse != null) {
             response = existingResponse;
             actionType = "UPDATE_RESPONSE";
-            response.setTime(ZonedDateTime.now());
+            response.setUpdatedAt(ZonedDateTime.now());
 
             try {
                 List<FieldResponse> existingFieldResponses = objectMapper.readValue(
@@ -313,18 +601,17 @@ public class FormController {
                 Map<String, ResponseRequest.FieldResponse> newResponsesMap = responseRequest.getResponses().stream()
                         .collect(Collectors.toMap(ResponseRequest.FieldResponse::getFieldId, fr -> fr));
 
-                List<FieldResponse> mergedResponses = existingFieldResponses.stream()
-                        .filter(fr -> !newResponsesMap.containsKey(fr.getFieldId()))
-                        .collect(Collectors.toList());
+                existingFieldResponses.forEach(fr -> previousFieldIds.add(fr.getFieldId()));
 
                 newResponsesMap.forEach((fieldId, fr) -> {
-                    mergedResponses.add(new FieldResponse(
+                    upsertedFields.add(new FieldResponse(
                             targetEmployeeId,
                             authEmployee.getEmployeeName(),
                             fr.getFieldId(),
                             fr.getValue(),
                             fr.getLinkedResponseId()));
                 });
+                List<FieldResponse> mergedResponses = ResponseMerger.merge(existingFieldResponses, upsertedFields);
 
                 response.setResponses(objectMapper.writeValueAsString(mergedResponses));
             } catch (Exception e) {
@@ -338,24 +625,25 @@ public class FormController {
             response.setEmployeeId(targetEmployeeId);
             response.setRecordId(recordId);
             response.setTime(ZonedDateTime.now());
+            response.setUpdatedAt(response.getTime());
 
             try {
-                response.setResponses(objectMapper.writeValueAsString(
-                        responseRequest.getResponses().stream()
-                                .map(fr -> new FieldResponse(
-                                        targetEmployeeId,
-                                        authEmployee.getEmployeeName(),
-                                        fr.getFieldId(),
-                                        fr.getValue(),
-                                        fr.getLinkedResponseId()))
-                                .collect(Collectors.toList())));
+                responseRequest.getResponses().stream()
+                        .map(fr -> new FieldResponse(
+                                targetEmployeeId,
+                                authEmployee.getEmployeeName(),
+                                fr.getFieldId(),
+                                fr.getValue(),
+                                fr.getLinkedResponseId()))
+                        .forEach(upsertedFields::add);
+                response.setResponses(objectMapper.writeValueAsString(upsertedFields));
             } catch (Exception e) {
                 logger.error("Error serializing response: {}", e.getMessage());
                 return ResponseEntity.status(500).build();
             }
         }
 
-        response = formService.saveResponse(response);
+        response = formService.saveResponse(response, previousFieldIds, upsertedFields, Collections.emptyList());
 
         ActivityLog activity = new ActivityLog(
                 actionType,
@@ -365,17 +653,185 @@ public class FormController {
                 authEmployee.getEmployeeName(),
                 ZonedDateTime.now()
         );
-        activityLogRepository.save(activity);
+        activityLogWriter.write(activity);
         logger.debug("Logged {} activity for form ID {} by employee ID {}", actionType, id, authEmployeeId);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Saves several records of a form in one request and one transaction, with the same create or
+     * merge semantics per record as {@link #submitResponse}. Records that cannot be saved (no recordId,
+     * no answers, repeated recordId or fieldId, a field outside the employee's levels) are reported as
+     * REJECTED and the rest are still saved.
+     */
+    @PostMapping("/employee/form/{id}/responses/batch")
+    public ResponseEntity<?> submitResponses(@PathVariable Long id, @RequestBody List<ResponseRequest> requests, Authentication auth) {
+        String authEmployeeId = auth.getName();
+        Employee authEmployee = currentEmployee(auth);
+        if (authEmployee == null) {
+            logger.error("Authenticated employee ID {} not found", authEmployeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Form> formOpt = formRepository.findById(id);
+        if (formOpt.isEmpty()) {
+            logger.error("Form ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+
+        Form formEntity = formOpt.get();
+        if (!formEntity.isActive()) {
+            logger.warn("Attempt to submit responses to inactive form ID {}", id);
+            return ResponseEntity.status(403).body(Map.of("message", "This form is inactive and does not accept new responses."));
+        }
+
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchRecords) {
+            logger.error("Batch submit for form ID {} must contain between 1 and {} records", id, maxBatchRecords);
+            return ResponseEntity.badRequest().body(Map.of("message", "A batch must contain between 1 and " + maxBatchRecords + " records."));
+        }
+
+        FormDefinition definition;
+        try {
+            definition = formDefinitionCache.get(formEntity);
+        } catch (Exception e) {
+            logger.error("Error parsing form content for batch submission, form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+
+        if (!hasFormAccess(authEmployee, formEntity, definition)) {
+            logger.warn("Unauthorized batch submission to form ID {} by employee ID {}", id, authEmployeeId);
+            return ResponseEntity.status(403).build();
+        }
+
+        RecordResultDTO[] results = new RecordResultDTO[requests.size()];
+        Map<String, Integer> indexByRecordId = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String problem = validateRecordRequest(requests.get(i), indexByRecordId.keySet());
+            if (problem == null) {
+                problem = requests.get(i).getResponses().stream()
+                        .map(ResponseRequest.FieldResponse::getFieldId)
+                        .filter(fieldId -> !canWriteField(authEmployee, formEntity, definition, fieldId))
+                        .findFirst()
+                        .map(fieldId -> "You cannot change field " + fieldId + ".")
+                        .orElse(null);
+            }
+            if (problem != null) {
+                results[i] = RecordResultDTO.rejected(requests.get(i) != null ? requests.get(i).getRecordId() : null, problem);
+            } else {
+                indexByRecordId.put(requests.get(i).getRecordId(), i);
+            }
+        }
+
+        Map<String, Response> existingByRecordId = new HashMap<>();
+        List<FormService.ResponseChange> changes = new ArrayList<>();
+        List<Integer> changeIndexes = new ArrayList<>();
+        List<Response> saved = List.of();
+        ZonedDateTime now = ZonedDateTime.now();
+        // Held for the whole transaction; RecordLocks sizes its stripes for the batch cap.
+        try (RecordLocks.Held ignored = recordLocks.lockAll(id, indexByRecordId.keySet())) {
+            for (int attempt = 1; !indexByRecordId.isEmpty(); attempt++) {
+                existingByRecordId.clear();
+                changes.clear();
+                changeIndexes.clear();
+                for (Response existing : responseRepository.findByFormIdAndRecordIdIn(id, indexByRecordId.keySet())) {
+                    existingByRecordId.putIfAbsent(existing.getRecordId(), existing);
+                }
+
+                for (Map.Entry<String, Integer> entry : indexByRecordId.entrySet()) {
+                    String recordId = entry.getKey();
+                    ResponseRequest request = requests.get(entry.getValue());
+                    List<FieldResponse> upsertedFields = request.getResponses().stream()
+                            .map(fr -> new FieldResponse(authEmployeeId, authEmployee.getEmployeeName(), fr.getFieldId(), fr.getValue(), fr.getLinkedResponseId()))
+                            .collect(Collectors.toList());
+                    Response response = existingByRecordId.get(recordId);
+                    Set<String> previousFieldIds = new HashSet<>();
+                    try {
+                        if (response != null) {
+                            List<FieldResponse> existingFieldResponses = objectMapper.readValue(response.getResponses(),
+                                    objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
+                            existingFieldResponses.forEach(fr -> previousFieldIds.add(fr.getFieldId()));
+                            response.setResponses(objectMapper.writeValueAsString(ResponseMerger.merge(existingFieldResponses, upsertedFields)));
+                        } else {
+                            response = new Response();
+                            response.setFormId(id);
+                            response.setEmployeeId(authEmployeeId);
+                            response.setRecordId(recordId);
+                            response.setResponses(objectMapper.writeValueAsString(upsertedFields));
+                        }
+                    } catch (Exception e) {
+                        logger.error("Error merging responses for record {} of form ID {}: {}", recordId, id, e.getMessage());
+                        results[entry.getValue()] = RecordResultDTO.rejected(recordId, "The stored response could not be merged.");
+                        continue;
+                    }
+                    if (response.getId() == null) {
+                        response.setTime(now);
+                    }
+                    response.setUpdatedAt(now);
+                    changes.add(new FormService.ResponseChange(response, previousFieldIds, upsertedFields));
+                    changeIndexes.add(entry.getValue());
+                }
+                if (changes.isEmpty()) {
+                    break;
+                }
+
+                try {
+                    saved = formService.saveResponses(id, changes);
+                    break;
+                } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+                    if (e instanceof DataIntegrityViolationException violation && !isRecordKeyConflict(violation)) {
+                        logger.error("Error saving batch of {} records for form ID {}: {}", changes.size(), id, violation.getMessage(), violation);
+                        return ResponseEntity.status(500).build();
+                    }
+                    if (attempt >= maxMergeAttempts) {
+                        logger.warn("Giving up on batch of {} records for form ID {} after {} concurrent updates", changes.size(), id, attempt);
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(Map.of("message", "Some records are being changed by someone else, please try again."));
+                    }
+                    logger.debug("Records of form ID {} changed concurrently, merging the batch again", id);
+                } catch (Exception e) {
+                    logger.error("Error saving batch of {} records for form ID {}: {}", changes.size(), id, e.getMessage(), e);
+                    return ResponseEntity.status(500).build();
+                }
+            }
+        }
+
+        for (int i = 0; i < saved.size(); i++) {
+            Response response = saved.get(i);
+            boolean updated = existingByRecordId.containsKey(response.getRecordId());
+            String actionType = updated ? "UPDATE_RESPONSE" : "SUBMIT";
+            results[changeIndexes.get(i)] = new RecordResultDTO(response.getRecordId(), updated ? "UPDATED" : "CREATED", response.getId(), null);
+            activityLogWriter.write(new ActivityLog(actionType, formEntity.getId(), formEntity.getTitle(),
+                    authEmployeeId, authEmployee.getEmployeeName(), now));
+        }
+        logger.debug("Batch submit for form ID {} by employee ID {}: {} of {} records saved", id, authEmployeeId, changes.size(), requests.size());
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+
+    private String validateRecordRequest(ResponseRequest request, Set<String> seenRecordIds) {
+        if (request == null || request.getRecordId() == null || request.getRecordId().isEmpty()) {
+            return "No recordId provided.";
+        }
+        if (seenRecordIds.contains(request.getRecordId())) {
+            return "The recordId appears more than once in the batch.";
+        }
+        if (request.getResponses() == null || request.getResponses().isEmpty()) {
+            return "No responses provided.";
+        }
+        Set<String> fieldIds = new HashSet<>();
+        for (ResponseRequest.FieldResponse fr : request.getResponses()) {
+            if (fr == null || fr.getFieldId() == null || !fieldIds.add(fr.getFieldId())) {
+                return "Every response needs a fieldId, and each fieldId may appear once.";
+            }
+        }
+        return null;
+    }
+
     @GetMapping("/employee/form/{id}/responses")
     public ResponseEntity<List<FormResponseDTO>> getFormResponses(@PathVariable Long id, Authentication authentication) {
         String employeeId = authentication.getName();
         logger.debug("Fetching responses for form ID {} by employee ID {}", id, employeeId);
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(authentication);
         if (employee == null) {
             logger.error("Employee ID {} not found", employeeId);
             return ResponseEntity.notFound().build();
@@ -388,17 +844,15 @@ public class FormController {
         }
 
         Form formEntity = form.get();
-        FormContent formContent;
+        FormDefinition definition;
         try {
-            formContent = objectMapper.readValue(formEntity.getFormContent(), FormContent.class);
+            definition = formDefinitionCache.get(formEntity);
         } catch (Exception e) {
             logger.error("Error parsing form content for form ID {}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(500).body(null);
         }
 
-        Map<Integer, List<String>> levelAssignments = formContent.getLevelAssignments();
-        boolean isAssignedToAnyLevel = levelAssignments.values().stream()
-                .anyMatch(employeeIds -> employeeIds.contains(employeeId));
+        boolean isAssignedToAnyLevel = definition.isAssigned(employeeId);
 
         if (employee.getRole() != Employee.Role.OWNER && !formEntity.getOwnerEmployeeId().equals(employeeId) && !isAssignedToAnyLevel) {
             logger.warn("Unauthorized access to form responses for form ID {} by employee ID {}", id, employeeId);
@@ -408,39 +862,11 @@ public class FormController {
         Set<String> accessibleFieldIds = (employee.getRole() == Employee.Role.OWNER ||
                 formEntity.getOwnerEmployeeId().equals(employeeId) ||
                 isAssignedToAnyLevel)
-                ? formContent.getFields().stream().map(Field::getId).collect(Collectors.toSet())
+                ? definition.getFields().stream().map(Field::getId).collect(Collectors.toSet())
                 : new HashSet<>();
 
-        List<Response> responses = responseRepository.findByFormId(id);
-        List<FormResponseDTO> responseDTOs = new ArrayList<>();
         try {
-            Map<String, String> fieldIdToQuestion = formContent.getFields().stream()
-                    .filter(field -> field.getId() != null && field.getQuestion() != null)
-                    .collect(Collectors.toMap(Field::getId, Field::getQuestion, (existing, replacement) -> existing, HashMap::new));
-
-            for (Response response : responses) {
-                List<FieldResponse> fieldResponses = objectMapper.readValue(response.getResponses(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
-
-                List<FieldResponseDTO> filteredResponses = fieldResponses.stream()
-                        .filter(fr -> accessibleFieldIds.contains(fr.getFieldId()))
-                        .map(fr -> new FieldResponseDTO(
-                                fr.getFieldId(),
-                                fieldIdToQuestion.getOrDefault(fr.getFieldId(), "Unknown Question"),
-                                fr.getValue(),
-                                fr.getLinkedResponseId(),
-                                response.getRecordId(),
-                                fr.getEmployeeId(),
-                                fr.getEmployeeName()
-                        ))
-                        .collect(Collectors.toList());
-
-                if (!filteredResponses.isEmpty()) {
-                    Employee respondent = employeeRepository.findByEmployeeId(response.getEmployeeId());
-                    String respondentName = respondent != null ? respondent.getEmployeeName() : "Unknown";
-                    responseDTOs.add(new FormResponseDTO(response.getId(), response.getEmployeeId(), respondentName, filteredResponses));
-                }
-            }
+            List<FormResponseDTO> responseDTOs = toFormResponseDTOs(responseReader.read(id, accessibleFieldIds), definition);
             logger.debug("Returning {} responses for form ID {} to employee ID {}", responseDTOs.size(), id, employeeId);
             return ResponseEntity.ok(responseDTOs);
         } catch (Exception e) {
@@ -449,11 +875,313 @@ public class FormController {
         }
     }
 
+    /**
+     * Responses as returned by {@link #getFormResponses} and {@link #getFormResponsePage}; responses left
+     * without any field are dropped.
+     */
+    private List<FormResponseDTO> toFormResponseDTOs(List<StoredResponse> responses, FormDefinition definition) {
+        Map<String, String> respondentNames = employeeDirectory.resolveNames(
+                responses.stream().map(StoredResponse::employeeId).collect(Collectors.toSet()));
+        return toFormResponseDTOs(responses, definition, respondentNames);
+    }
+
+    private List<FormResponseDTO> toFormResponseDTOs(List<StoredResponse> responses, FormDefinition definition,
+                                                     Map<String, String> respondentNames) {
+        List<FormResponseDTO> responseDTOs = new ArrayList<>();
+        Map<String, String> fieldIdToQuestion = definition.getFieldIdToQuestion();
+
+        for (StoredResponse response : responses) {
+            List<FieldResponseDTO> filteredResponses = response.fields().stream()
+                    .map(fr -> new FieldResponseDTO(
+                            fr.getFieldId(),
+                            fieldIdToQuestion.getOrDefault(fr.getFieldId(), "Unknown Question"),
+                            fr.getValue(),
+                            fr.getLinkedResponseId(),
+                            response.recordId(),
+                            fr.getEmployeeId(),
+                            fr.getEmployeeName()
+                    ))
+                    .collect(Collectors.toList());
+
+            if (!filteredResponses.isEmpty()) {
+                String respondentName = respondentNames.getOrDefault(response.employeeId(), "Unknown");
+                responseDTOs.add(new FormResponseDTO(response.responseId(), response.employeeId(), respondentName, filteredResponses));
+            }
+        }
+        return responseDTOs;
+    }
+
+    /**
+     * Responses of several forms grouped by form, as {@link #getFormResponses} returns them for each one.
+     * Without {@code formIds} every form the employee can see is included; owners, who can see every form,
+     * must name the forms (or use /owner/responses/stream). At most forms.responses.max-forms forms are read
+     * per request. Forms that do not exist or that the employee has no access to are left out. All responses
+     * are read with one formId IN (...) query and the respondent and owner names are resolved in one lookup.
+     */
+    @GetMapping("/employee/forms/responses")
+    public ResponseEntity<?> getResponsesOfForms(@RequestParam(required = false) List<Long> formIds,
+                                                                      Authentication authentication) {
+        String employeeId = authentication.getName();
+        logger.debug("Fetching responses of forms {} for employee ID {}", formIds == null ? "(all)" : formIds, employeeId);
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Form> candidates;
+        if (formIds != null) {
+            Set<Long> ids = new LinkedHashSet<>(formIds);
+            if (ids.isEmpty() || ids.size() > maxResponseForms) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Between 1 and " + maxResponseForms + " formIds may be requested at once."));
+            }
+            candidates = formRepository.findAllById(ids);
+        } else if (employee.getRole() == Employee.Role.OWNER) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Owners must list the formIds to read, or use /api/owner/responses/stream."));
+        } else {
+            candidates = formRepository.findVisibleToEmployee(employeeId);
+            if (candidates.size() > maxResponseForms) {
+                return ResponseEntity.badRequest().body(Map.of("message", "More than " + maxResponseForms + " forms are visible; list the formIds to read."));
+            }
+        }
+
+        // Same rule as getFormResponses: anyone with access to a form sees every field of its responses.
+        List<Form> forms = new ArrayList<>();
+        Map<Long, FormDefinition> definitions = new HashMap<>();
+        Map<Long, Set<String>> fieldIdsByForm = new HashMap<>();
+        for (Form form : candidates) {
+            if (form.getFormContent() == null || form.getFormContent().isEmpty()) {
+                logger.error("Form content is null or empty for form ID {}", form.getId());
+                continue;
+            }
+            FormDefinition definition;
+            try {
+                definition = formDefinitionCache.get(form);
+            } catch (Exception e) {
+                logger.error("Error parsing form content for form ID {}: {}", form.getId(), e.getMessage(), e);
+                continue;
+            }
+            if (!hasFormAccess(employee, form, definition)) {
+                logger.warn("Unauthorized access to form responses for form ID {} by employee ID {}", form.getId(), employeeId);
+                continue;
+            }
+            forms.add(form);
+            definitions.put(form.getId(), definition);
+            fieldIdsByForm.put(form.getId(), definition.getFields().stream().map(Field::getId).collect(Collectors.toSet()));
+        }
+        forms.sort(Comparator.comparing(Form::getId));
+
+        try {
+            Map<Long, List<StoredResponse>> responsesByForm = responseReader.readForms(fieldIdsByForm);
+            Set<String> nameIds = new HashSet<>();
+            forms.forEach(form -> nameIds.add(form.getOwnerEmployeeId()));
+            responsesByForm.values().forEach(responses -> responses.forEach(response -> nameIds.add(response.employeeId())));
+            Map<String, String> names = employeeDirectory.resolveNames(nameIds);
+
+            List<OwnerResponseDTO> result = new ArrayList<>(forms.size());
+            for (Form form : forms) {
+                result.add(new OwnerResponseDTO(form.getId(), form.getTitle(), form.getOwnerEmployeeId(),
+                        names.getOrDefault(form.getOwnerEmployeeId(), "Unknown"),
+                        toFormResponseDTOs(responsesByForm.get(form.getId()), definitions.get(form.getId()), names)));
+            }
+            logger.debug("Returning responses of {} form(s) to employee ID {}", result.size(), employeeId);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            logger.error("Error processing responses of forms for employee ID {}: {}", employeeId, e.getMessage(), e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @GetMapping("/employee/form/{id}/responses/page")
+    public ResponseEntity<ResponsePageDTO> getFormResponsePage(@PathVariable Long id,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "50") int size,
+                                                               @RequestParam(defaultValue = "id_asc") String sort,
+                                                               @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                               Authentication authentication) {
+        String employeeId = authentication.getName();
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        if (size < 1 || size > maxResponsePageSize) {
+            logger.warn("Invalid page size {} requested for form ID {}", size, id);
+            return ResponseEntity.badRequest().build();
+        }
+        ResponseSort responseSort;
+        try {
+            responseSort = ResponseSort.valueOf(sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unsupported sort {} requested for form ID {}", sort, id);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Form> form = formRepository.findById(id);
+        if (form.isEmpty()) {
+            logger.error("Form ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+
+        Form formEntity = form.get();
+        FormDefinition definition;
+        try {
+            definition = formDefinitionCache.get(formEntity);
+        } catch (Exception e) {
+            logger.error("Error parsing form content for form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+
+        if (!hasFormAccess(employee, formEntity, definition)) {
+            logger.warn("Unauthorized access to form responses for form ID {} by employee ID {}", id, employeeId);
+            return ResponseEntity.status(403).build();
+        }
+
+        Set<String> accessibleFieldIds = definition.getFields().stream().map(Field::getId).collect(Collectors.toSet());
+        ResponsePage page;
+        try {
+            page = responseReader.readPage(id, responseSort, cursor, size, accessibleFieldIds);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid cursor for form ID {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<FormResponseDTO> items = toFormResponseDTOs(page.items(), definition);
+
+        Long totalCount = includeTotal ? responseRepository.countByFormId(id) : null;
+        logger.debug("Returning page of {} responses for form ID {} to employee ID {}", items.size(), id, employeeId);
+        return ResponseEntity.ok(new ResponsePageDTO(items, page.nextCursor(), totalCount));
+    }
+
+    @GetMapping("/employee/form/{id}/responses/export")
+    public ResponseEntity<StreamingResponseBody> exportFormResponses(@PathVariable Long id,
+                                                                     @RequestParam(defaultValue = "csv") String format,
+                                                                     Authentication authentication) {
+        String employeeId = authentication.getName();
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unsupported export format {} requested for form ID {}", format, id);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Form> form = formRepository.findById(id);
+        if (form.isEmpty()) {
+            logger.error("Form ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+
+        Form formEntity = form.get();
+        FormDefinition definition;
+        try {
+            definition = formDefinitionCache.get(formEntity);
+        } catch (Exception e) {
+            logger.error("Error parsing form content for form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+
+        if (!hasFormAccess(employee, formEntity, definition)) {
+            logger.warn("Unauthorized export of form responses for form ID {} by employee ID {}", id, employeeId);
+            return ResponseEntity.status(403).build();
+        }
+
+        Set<String> accessibleFieldIds = definition.getFields().stream().map(Field::getId).collect(Collectors.toSet());
+        StreamingResponseBody body = out -> responseExportService.export(formEntity, definition, accessibleFieldIds, exportFormat, out);
+        String filename = "form_" + id + "_responses." + exportFormat.getExtension();
+        logger.debug("Exporting responses of form ID {} as {} for employee ID {}", id, exportFormat, employeeId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
+    /**
+     * Creates many records at once from a CSV file or a JSON array; see {@link ResponseImportService}
+     * for the accepted layouts. Writes one IMPORT activity entry for the whole file.
+     */
+    @PostMapping(value = "/employee/form/{id}/records/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> importRecords(@PathVariable Long id,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           InputStream body,
+                                           Authentication authentication) {
+        String employeeId = authentication.getName();
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        Optional<Form> form = formRepository.findById(id);
+        if (form.isEmpty()) {
+            logger.error("Form ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+
+        Form formEntity = form.get();
+        if (!formEntity.isActive()) {
+            logger.warn("Attempt to import records into inactive form ID {}", id);
+            return ResponseEntity.status(403).body(Map.of("message", "This form is inactive and does not accept new responses."));
+        }
+
+        FormDefinition definition;
+        try {
+            definition = formDefinitionCache.get(formEntity);
+        } catch (Exception e) {
+            logger.error("Error parsing form content for form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+
+        if (!hasFormAccess(employee, formEntity, definition)) {
+            logger.warn("Unauthorized record import into form ID {} by employee ID {}", id, employeeId);
+            return ResponseEntity.status(403).build();
+        }
+
+        Set<String> allowedFieldIds = (employee.getRole() == Employee.Role.OWNER || formEntity.getOwnerEmployeeId().equals(employeeId))
+                ? definition.getFields().stream().map(Field::getId).collect(Collectors.toSet())
+                : new HashSet<>(definition.getAccessibleFieldIds(employeeId));
+        ResponseImportService.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? ResponseImportService.Format.JSON
+                : ResponseImportService.Format.CSV;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        ResponseImportService.Result result;
+        try {
+            result = responseImportService.importRecords(formEntity, definition, allowedFieldIds, employee, format, body, charset);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected record import into form ID {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error importing records into form ID {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(500).build();
+        }
+
+        if (result.imported() > 0) {
+            ActivityLog activity = new ActivityLog(
+                    "IMPORT",
+                    formEntity.getId(),
+                    formEntity.getTitle(),
+                    employeeId,
+                    employee.getEmployeeName(),
+                    ZonedDateTime.now()
+            );
+            activityLogWriter.write(activity);
+        }
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/owner/responses")
     public ResponseEntity<List<OwnerResponseDTO>> getAllResponses(Authentication authentication) {
         String employeeId = authentication.getName();
         logger.debug("Fetching all responses for employee ID {}", employeeId);
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(authentication);
         if (employee == null) {
             logger.error("Employee ID {} not found", employeeId);
             return ResponseEntity.notFound().build();
@@ -465,13 +1193,13 @@ public class FormController {
         }
 
         List<Form> forms = formRepository.findAll();
+        Map<String, String> ownerNames = employeeDirectory.resolveNames(
+                forms.stream().map(Form::getOwnerEmployeeId).collect(Collectors.toSet()));
         List<OwnerResponseDTO> responseDTOs = new ArrayList<>();
         for (Form form : forms) {
-            List<Response> responses = responseRepository.findByFormId(form.getId());
-            Employee formOwner = employeeRepository.findByEmployeeId(form.getOwnerEmployeeId());
-            String formOwnerName = formOwner != null ? formOwner.getEmployeeName() : "Unknown";
+            String formOwnerName = ownerNames.getOrDefault(form.getOwnerEmployeeId(), "Unknown");
             try {
-                List<FormResponseDTO> formResponseDTOs = mapResponsesToDTO(responses, form);
+                List<FormResponseDTO> formResponseDTOs = mapResponsesToDTO(responseReader.read(form.getId(), null), form);
                 responseDTOs.add(new OwnerResponseDTO(form.getId(), form.getTitle(), form.getOwnerEmployeeId(), formOwnerName, formResponseDTOs));
             } catch (Exception e) {
                 logger.error("Error processing responses for form ID {}: {}", form.getId(), e.getMessage(), e);
@@ -481,10 +1209,193 @@ public class FormController {
         return ResponseEntity.ok(responseDTOs);
     }
 
+    /**
+     * Same content as /owner/responses, written as one JSON object per form per line. The responses of
+     * the next form are fetched on the application executor while the current form is being written,
+     * so at most two forms are held in memory.
+     */
+    @GetMapping(value = "/owner/responses/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllResponses(Authentication authentication) {
+        String employeeId = authentication.getName();
+        logger.debug("Streaming all responses for employee ID {}", employeeId);
+        Employee employee = currentEmployee(authentication);
+        if (employee == null) {
+            logger.error("Employee ID {} not found", employeeId);
+            return ResponseEntity.notFound().build();
+        }
+
+        if (employee.getRole() != Employee.Role.OWNER) {
+            logger.warn("Unauthorized access to all responses by employee ID {}", employeeId);
+            return ResponseEntity.status(403).build();
+        }
+
+        List<Form> forms = formRepository.findAll();
+        Map<String, String> ownerNames = employeeDirectory.resolveNames(
+                forms.stream().map(Form::getOwnerEmployeeId).collect(Collectors.toSet()));
+
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            CompletableFuture<OwnerResponseDTO> next = forms.isEmpty() ? null : fetchOwnerResponses(forms.get(0), ownerNames);
+            for (int i = 0; i < forms.size(); i++) {
+                OwnerResponseDTO current;
+                try {
+                    current = next.join();
+                } catch (CompletionException e) {
+                    current = null;
+                    logger.error("Error processing responses for form ID {}: {}", forms.get(i).getId(), e.getCause().getMessage(), e.getCause());
+                }
+                next = i + 1 < forms.size() ? fetchOwnerResponses(forms.get(i + 1), ownerNames) : null;
+                if (current != null) {
+                    objectMapper.writeValue(generator, current);
+                    generator.writeRaw('\n');
+                    generator.flush();
+                }
+            }
+            generator.close();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private CompletableFuture<OwnerResponseDTO> fetchOwnerResponses(Form form, Map<String, String> ownerNames) {
+        return CompletableFuture.supplyAsync(() -> new OwnerResponseDTO(
+                form.getId(),
+                form.getTitle(),
+                form.getOwnerEmployeeId(),
+                ownerNames.getOrDefault(form.getOwnerEmployeeId(), "Unknown"),
+                mapResponsesToDTO(responseReader.read(form.getId(), null), form)), appTaskExecutor);
+    }
+
+    @GetMapping("/owner/cache/form-definitions")
+    public ResponseEntity<Map<String, Object>> getFormDefinitionCacheStats() {
+        CacheStats stats = formDefinitionCache.stats();
+        Map<String, Object> statsData = new LinkedHashMap<>();
+        statsData.put("size", formDefinitionCache.size());
+        statsData.put("hitCount", stats.hitCount());
+        statsData.put("missCount", stats.missCount());
+        statsData.put("hitRate", stats.hitRate());
+        statsData.put("evictionCount", stats.evictionCount());
+        statsData.put("loadFailureCount", stats.loadFailureCount());
+        return ResponseEntity.ok(statsData);
+    }
+
+    @GetMapping("/owner/activity-log/writer")
+    public ResponseEntity<Map<String, Object>> getActivityLogWriterStats() {
+        ActivityLogWriter.Stats stats = activityLogWriter.stats();
+        Map<String, Object> statsData = new LinkedHashMap<>();
+        statsData.put("queueDepth", stats.queueDepth());
+        statsData.put("queueCapacity", stats.queueCapacity());
+        statsData.put("writtenCount", stats.writtenCount());
+        statsData.put("failedCount", stats.failedCount());
+        statsData.put("callerWriteCount", stats.callerWriteCount());
+        statsData.put("flushCount", stats.flushCount());
+        statsData.put("lastFlushMillis", stats.lastFlushMillis());
+        statsData.put("maxFlushMillis", stats.maxFlushMillis());
+        statsData.put("averageFlushMillis", stats.averageFlushMillis());
+        return ResponseEntity.ok(statsData);
+    }
+
+    /**
+     * Dashboard totals read from form_stats instead of the responses: forms by state and response rows.
+     * The per-form and per-employee counters are served by /owner/stats/forms and /owner/stats/employees.
+     */
+    @GetMapping("/owner/stats")
+    public ResponseEntity<Map<String, Object>> getOwnerStats() {
+        long activeForms = formRepository.countByActive(true);
+        long inactiveForms = formRepository.countByActive(false);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("formCount", activeForms + inactiveForms);
+        result.put("activeFormCount", activeForms);
+        result.put("inactiveFormCount", inactiveForms);
+        result.put("responseCount", formStatsRepository.sumResponseCounts());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Response rows and last submission of the given forms, or of one page of forms in id order. Forms
+     * without responses may be missing.
+     */
+    @GetMapping("/owner/stats/forms")
+    public ResponseEntity<?> getOwnerFormStats(@RequestParam(required = false) List<Long> formIds,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "50") int size) {
+        List<FormStats> stats;
+        if (formIds != null) {
+            if (formIds.isEmpty() || formIds.size() > maxFormSummaryPageSize) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Between 1 and " + maxFormSummaryPageSize + " formIds may be requested at once."));
+            }
+            stats = formStatsRepository.findByFormIdInOrderByFormIdAsc(new LinkedHashSet<>(formIds));
+        } else {
+            if (page < 0 || size < 1 || size > maxFormSummaryPageSize) {
+                return ResponseEntity.badRequest().build();
+            }
+            stats = formStatsRepository.findAllByOrderByFormIdAsc(PageRequest.of(page, size));
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(stats.size());
+        for (FormStats formStats : stats) {
+            Map<String, Object> statsData = new LinkedHashMap<>();
+            statsData.put("formId", formStats.getFormId());
+            statsData.put("responseCount", formStats.getResponseCount());
+            statsData.put("lastSubmissionAt", formStats.getLastSubmissionAt());
+            result.add(statsData);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Records created and last submission per employee over all forms, for the given employees or one
+     * page of employees in id order. Employees who never created a record are missing.
+     */
+    @GetMapping("/owner/stats/employees")
+    public ResponseEntity<?> getOwnerEmployeeStats(@RequestParam(required = false) List<String> employeeIds,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "50") int size) {
+        List<FormEmployeeStatsRepository.EmployeeTotals> totals;
+        if (employeeIds != null) {
+            if (employeeIds.isEmpty() || employeeIds.size() > maxFormSummaryPageSize) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Between 1 and " + maxFormSummaryPageSize + " employeeIds may be requested at once."));
+            }
+            totals = formEmployeeStatsRepository.findEmployeeTotalsByEmployeeIdIn(new LinkedHashSet<>(employeeIds));
+        } else {
+            if (page < 0 || size < 1 || size > maxFormSummaryPageSize) {
+                return ResponseEntity.badRequest().build();
+            }
+            totals = formEmployeeStatsRepository.findEmployeeTotals(PageRequest.of(page, size));
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(totals.size());
+        for (FormEmployeeStatsRepository.EmployeeTotals employeeTotals : totals) {
+            Map<String, Object> statsData = new LinkedHashMap<>();
+            statsData.put("employeeId", employeeTotals.getEmployeeId());
+            statsData.put("recordCount", employeeTotals.getResponseCount());
+            statsData.put("lastSubmissionAt", employeeTotals.getLastSubmissionAt());
+            result.add(statsData);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Recomputes the dashboard counters from the responses table, for repairing drift.
+     */
+    @PostMapping("/owner/stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildOwnerStats(Authentication authentication) {
+        logger.info("Form stats rebuild requested by employee ID {}", authentication.getName());
+        try {
+            int forms = formStatsTracker.rebuild();
+            return ResponseEntity.ok(Map.of("message", "Form stats rebuilt", "formCount", forms));
+        } catch (Exception e) {
+            logger.error("Form stats rebuild failed: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body(Map.of("message", "Form stats rebuild failed"));
+        }
+    }
+
     @GetMapping("/employee/recent-activity")
     public ResponseEntity<List<Map<String, Object>>> getRecentActivity(Authentication authentication) {
         String employeeId = authentication.getName();
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(authentication);
         if (employee == null) { return ResponseEntity.notFound().build(); }
 
         List<ActivityLog> activities;
@@ -494,15 +1405,7 @@ public class FormController {
             activities = activityLogRepository.findTop10ByActionTypeNotOrderByTimestampDesc("VIEW", pageable);
         } else {
             // 1. Get IDs of forms the user is currently assigned to.
-            List<Form> assignedForms = formRepository.findAll().stream()
-                    .filter(form -> {
-                        try {
-                            return objectMapper.readValue(form.getFormContent(), FormContent.class)
-                                    .getLevelAssignments().values().stream().anyMatch(e -> e.contains(employeeId));
-                        } catch (Exception e) { return false; }
-                    })
-                    .collect(Collectors.toList());
-            List<Long> activeFormIds = assignedForms.stream().map(Form::getId).collect(Collectors.toList());
+            List<Long> activeFormIds = formEmployeeLevelRepository.findDistinctFormIdsByEmployeeId(employeeId);
 
             // 2. Get IDs of all forms the user has ever interacted with from the activity log itself.
             List<Long> historicalFormIds = activityLogRepository.findDistinctFormIdsByEmployeeId(employeeId);
@@ -545,15 +1448,14 @@ public class FormController {
             return ResponseEntity.notFound().build();
         }
         Form formEntity = formOpt.get();
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(authentication);
         if (employee == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
         boolean hasAccess;
         try {
-            FormContent formContent = objectMapper.readValue(formEntity.getFormContent(), FormContent.class);
-            hasAccess = hasFormAccess(employee, formEntity, formContent);
+            hasAccess = hasFormAccess(employee, formEntity, formDefinitionCache.get(formEntity));
         } catch (Exception e) {
             logger.error("Error parsing form content for activity access check, form ID {}: {}", id, e.getMessage());
             return ResponseEntity.status(500).build();
@@ -564,9 +1466,15 @@ public class FormController {
             return ResponseEntity.status(403).build();
         }
 
-        List<ActivityLog> activities = activityLogRepository.findByFormIdOrderByTimestampDesc(id);
+        List<Map<String, Object>> activityList = readFormActivity(id);
+        logger.debug("Returning {} activities for form ID {}", activityList.size(), id);
+        return ResponseEntity.ok(activityList);
+    }
+
+    private List<Map<String, Object>> readFormActivity(Long formId) {
+        List<ActivityLog> activities = activityLogRepository.findByFormIdOrderByTimestampDesc(formId);
 
-        List<Map<String, Object>> activityList = activities.stream().map(activity -> {
+        return activities.stream().map(activity -> {
             Map<String, Object> activityData = new HashMap<>();
             activityData.put("actionType", activity.getActionType());
             activityData.put("formId", activity.getFormId());
@@ -576,15 +1484,12 @@ public class FormController {
             activityData.put("timestamp", activity.getTimestamp().toString());
             return activityData;
         }).collect(Collectors.toList());
-
-        logger.debug("Returning {} activities for form ID {}", activityList.size(), id);
-        return ResponseEntity.ok(activityList);
     }
 
     @PutMapping("/employee/form/{id}/status")
     public ResponseEntity<Form> toggleFormStatus(@PathVariable Long id, @RequestBody Map<String, Boolean> statusRequest, Authentication auth) {
         String employeeId = auth.getName();
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(auth);
         if (employee == null) {
             return ResponseEntity.notFound().build();
         }
@@ -606,6 +1511,7 @@ public class FormController {
         }
         formToUpdate.setActive(newStatus);
         Form updatedForm = formRepository.save(formToUpdate);
+        formDefinitionCache.invalidate(id);
 
         ActivityLog activity = new ActivityLog(
                 "STATUS_CHANGE",
@@ -615,7 +1521,7 @@ public class FormController {
                 employee.getEmployeeName(),
                 ZonedDateTime.now()
         );
-        activityLogRepository.save(activity);
+        activityLogWriter.write(activity);
         logger.debug("Logged STATUS_CHANGE activity for form ID {} by employee ID {}", id, employeeId);
 
         return ResponseEntity.ok(updatedForm);
@@ -626,7 +1532,7 @@ public class FormController {
         String ownerEmployeeId = auth.getName();
         logger.debug("Creating form with title: {} by employee ID {}", formRequest.getTitle(), ownerEmployeeId);
 
-        Employee owner = employeeRepository.findByEmployeeId(ownerEmployeeId);
+        Employee owner = currentEmployee(auth);
         if (owner == null) {
             logger.error("Owner employee ID {} not found", ownerEmployeeId);
             return ResponseEntity.notFound().build();
@@ -666,11 +1572,10 @@ public class FormController {
                     logger.error("No employees assigned to level: {}", assignment.getLevelNumber());
                     return ResponseEntity.badRequest().build();
                 }
-                for (String empId : assignment.getEmployeeIds()) {
-                    if (employeeRepository.findByEmployeeId(empId) == null) {
-                        logger.error("Employee ID {} not found in level assignment", empId);
-                        return ResponseEntity.badRequest().build();
-                    }
+                Set<String> unknownEmployeeIds = employeeDirectory.findUnknown(assignment.getEmployeeIds());
+                if (!unknownEmployeeIds.isEmpty()) {
+                    logger.error("Employee IDs {} not found in level assignment", unknownEmployeeIds);
+                    return ResponseEntity.badRequest().build();
                 }
                 levelAssignmentMap.put(assignment.getLevelNumber(), assignment.getEmployeeIds());
             }
@@ -701,7 +1606,7 @@ public class FormController {
             form.setTitle(formRequest.getTitle());
             form.setOwnerEmployeeId(ownerEmployeeId);
             form.setFormContent(objectMapper.writeValueAsString(formContent));
-            form = formRepository.save(form);
+            form = formService.saveFormWithAssignments(form, levelAssignmentMap);
 
             ActivityLog activity = new ActivityLog(
                     "CREATE",
@@ -711,7 +1616,7 @@ public class FormController {
                     owner.getEmployeeName(),
                     ZonedDateTime.now()
             );
-            activityLogRepository.save(activity);
+            activityLogWriter.write(activity);
             logger.debug("Logged CREATE activity for form ID {} by employee ID {}", form.getId(), ownerEmployeeId);
 
             return ResponseEntity.ok(form);
@@ -724,7 +1629,7 @@ public class FormController {
     @PostMapping("/employee/form/{id}/activity/add-record")
     public ResponseEntity<Void> logAddRecordActivity(@PathVariable Long id, Authentication auth) {
         String employeeId = auth.getName();
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(auth);
         if (employee == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -744,7 +1649,7 @@ public class FormController {
                     employee.getEmployeeName(),
                     ZonedDateTime.now()
             );
-            activityLogRepository.save(activity);
+            activityLogWriter.write(activity);
             logger.debug("Logged ADD_RECORD activity for form ID {} by employee ID {}", id, employeeId);
 
             return ResponseEntity.ok().build();
@@ -758,7 +1663,7 @@ public class FormController {
     @DeleteMapping("/employee/form/{id}")
     public ResponseEntity<Void> deleteForm(@PathVariable Long id, Authentication auth) {
         String employeeId = auth.getName();
-        Employee employee = employeeRepository.findByEmployeeId(employeeId);
+        Employee employee = currentEmployee(auth);
         if (employee == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -783,13 +1688,12 @@ public class FormController {
                     employee.getEmployeeName(),
                     ZonedDateTime.now()
             );
-            activityLogRepository.save(activity);
-
-            // Delete associated responses.
-            responseRepository.deleteByFormId(id);
+            activityLogWriter.write(activity);
 
-            // Delete the form. The activity logs are NOT touched and keep their formId.
-            formRepository.delete(form);
+            // Delete the form, its responses and its assignment index rows.
+            // The activity logs are NOT touched and keep their formId.
+            formService.deleteForm(form);
+            formDefinitionCache.invalidate(id);
 
             logger.debug("Successfully deleted form ID {} and its responses. Activity logs preserved.", id);
             return ResponseEntity.ok().build();
@@ -802,50 +1706,202 @@ public class FormController {
 
 
     @DeleteMapping("/employee/form/{id}/record/{recordId}")
-    public ResponseEntity<Void> deleteRecord(@PathVariable Long id, @PathVariable String recordId, Authentication auth) {
+    public ResponseEntity<?> deleteRecord(@PathVariable Long id, @PathVariable String recordId, Authentication auth) {
         String authEmployeeId = auth.getName();
-        Employee authEmployee = employeeRepository.findByEmployeeId(authEmployeeId);
+        Employee authEmployee = currentEmployee(auth);
         if (authEmployee == null) {
             return ResponseEntity.status(401).build();
         }
 
-        List<Response> responses = responseRepository.findByFormIdAndRecordId(id, recordId);
-        if (responses.isEmpty()) {
-            logger.warn("No record found with recordId {} for form ID {}", recordId, id);
+        List<Response> deleted;
+        try (RecordLocks.Held ignored = recordLocks.lock(id, recordId)) {
+            for (int attempt = 1; ; attempt++) {
+                List<Response> responses = responseRepository.findByFormIdAndRecordId(id, recordId);
+                if (responses.isEmpty()) {
+                    logger.warn("No record found with recordId {} for form ID {}", recordId, id);
+                    return ResponseEntity.notFound().build();
+                }
+
+                String recordCreatorId = responses.get(0).getEmployeeId();
+
+                if (!authEmployee.getRole().equals(Employee.Role.OWNER) && !recordCreatorId.equals(authEmployeeId)) {
+                    logger.warn("Unauthorized attempt to delete recordId {} by employee ID {}", recordId, authEmployeeId);
+                    return ResponseEntity.status(403).build();
+                }
+
+                try {
+                    deleted = formService.deleteRecord(id, recordId);
+                    break;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (attempt >= maxMergeAttempts) {
+                        logger.warn("Giving up on deleting recordId {} of form ID {} after {} concurrent updates", recordId, id, attempt);
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(Map.of("message", "The record is being changed by someone else, please try again."));
+                    }
+                    logger.debug("RecordId {} of form ID {} changed concurrently, deleting again", recordId, id);
+                } catch (Exception e) {
+                    logger.error("Error deleting recordId {}: {}", recordId, e.getMessage(), e);
+                    return ResponseEntity.status(500).build();
+                }
+            }
+        }
+        if (deleted.isEmpty()) {
+            logger.warn("RecordId {} of form ID {} was deleted concurrently", recordId, id);
             return ResponseEntity.notFound().build();
         }
 
-        String recordCreatorId = responses.get(0).getEmployeeId();
+        Form form = formRepository.findById(id).orElse(null);
+        ActivityLog activity = new ActivityLog(
+                "DELETE_RECORD",
+                id,
+                form != null ? form.getTitle() : "Unknown Form",
+                authEmployeeId,
+                authEmployee.getEmployeeName(),
+                ZonedDateTime.now()
+        );
+        activityLogWriter.write(activity);
+        logger.debug("Successfully deleted recordId {} from form ID {}", recordId, id);
+
+        return ResponseEntity.ok().build();
+    }
 
-        if (!authEmployee.getRole().equals(Employee.Role.OWNER) && !recordCreatorId.equals(authEmployeeId)) {
-            logger.warn("Unauthorized attempt to delete recordId {} by employee ID {}", recordId, authEmployeeId);
-            return ResponseEntity.status(403).build();
+    /**
+     * Applies set and remove operations to single fields of a record. Only the changed fields travel in
+     * the request and response. When the request carries the version it was based on and the stored row
+     * has moved on since, nothing is written and 409 is returned with the current version.
+     */
+    @PatchMapping("/employee/form/{id}/record/{recordId}")
+    public ResponseEntity<?> patchRecord(@PathVariable Long id, @PathVariable String recordId,
+                                         @RequestBody RecordPatchRequest patch, Authentication auth) {
+        String authEmployeeId = auth.getName();
+        Employee authEmployee = currentEmployee(auth);
+        if (authEmployee == null) {
+            logger.error("Authenticated employee ID {} not found", authEmployeeId);
+            return ResponseEntity.status(401).build();
         }
 
-        try {
-            responseRepository.deleteByFormIdAndRecordId(id, recordId);
+        if (patch == null || patch.getOperations() == null || patch.getOperations().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "No operations provided."));
+        }
+        Map<String, FieldResponse> setFields = new LinkedHashMap<>();
+        Set<String> removeFieldIds = new LinkedHashSet<>();
+        for (RecordPatchRequest.FieldOperation operation : patch.getOperations()) {
+            String fieldId = operation != null ? operation.getFieldId() : null;
+            if (fieldId == null || setFields.containsKey(fieldId) || removeFieldIds.contains(fieldId)) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Every operation needs a fieldId, and each fieldId may appear once."));
+            }
+            if ("set".equals(operation.getOp())) {
+                setFields.put(fieldId, new FieldResponse(authEmployeeId, authEmployee.getEmployeeName(), fieldId,
+                        operation.getValue(), operation.getLinkedResponseId()));
+            } else if ("remove".equals(operation.getOp())) {
+                removeFieldIds.add(fieldId);
+            } else {
+                return ResponseEntity.badRequest().body(Map.of("message", "Unsupported operation " + operation.getOp() + "; use set or remove."));
+            }
+        }
 
-            Form form = formRepository.findById(id).orElse(null);
-            ActivityLog activity = new ActivityLog(
-                    "DELETE_RECORD",
-                    id,
-                    form != null ? form.getTitle() : "Unknown Form",
-                    authEmployeeId,
-                    authEmployee.getEmployeeName(),
-                    ZonedDateTime.now()
-            );
-            activityLogRepository.save(activity);
-            logger.debug("Successfully deleted recordId {} from form ID {}", recordId, id);
+        Optional<Form> formOpt = formRepository.findById(id);
+        if (formOpt.isEmpty()) {
+            logger.error("Form ID {} not found", id);
+            return ResponseEntity.notFound().build();
+        }
+        Form formEntity = formOpt.get();
+        if (!formEntity.isActive()) {
+            logger.warn("Attempt to patch record {} of inactive form ID {}", recordId, id);
+            return ResponseEntity.status(403).body(Map.of("message", "This form is inactive and does not accept new responses."));
+        }
 
-            return ResponseEntity.ok().build();
+        FormDefinition definition;
+        try {
+            definition = formDefinitionCache.get(formEntity);
         } catch (Exception e) {
-            logger.error("Error deleting recordId {}: {}", recordId, e.getMessage(), e);
+            logger.error("Error parsing form content for patch of record {}, form ID {}: {}", recordId, id, e.getMessage(), e);
             return ResponseEntity.status(500).build();
         }
+        if (!hasFormAccess(authEmployee, formEntity, definition)) {
+            logger.warn("Unauthorized patch of record {} in form ID {} by employee ID {}", recordId, id, authEmployeeId);
+            return ResponseEntity.status(403).build();
+        }
+        for (String fieldId : Stream.concat(setFields.keySet().stream(), removeFieldIds.stream()).toList()) {
+            if (!canWriteField(authEmployee, formEntity, definition, fieldId)) {
+                logger.warn("Unauthorized patch of field {} in form ID {} by employee ID {}", fieldId, id, authEmployeeId);
+                return ResponseEntity.status(403).body(Map.of("message", "You cannot change field " + fieldId + "."));
+            }
+        }
+
+        // Without a base version the patch is merged again on a concurrent update, like submitResponse;
+        // with one, a concurrent update is a conflict for the client to resolve.
+        Response response;
+        boolean deleted = false;
+        try (RecordLocks.Held ignored = recordLocks.lock(id, recordId)) {
+            for (int attempt = 1; ; attempt++) {
+                response = responseRepository.findByFormIdAndRecordId(id, recordId)
+                        .stream()
+                        .findFirst()
+                        .orElse(null);
+                if (response == null) {
+                    logger.warn("No response found for recordId {} in form ID {}", recordId, id);
+                    return ResponseEntity.notFound().build();
+                }
+                if (patch.getVersion() != null && patch.getVersion() != response.getVersion()) {
+                    logger.debug("Stale patch of recordId {} in form ID {}: version {} but stored {}", recordId, id, patch.getVersion(), response.getVersion());
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(Map.of("message", "The record was changed by someone else.", "version", response.getVersion()));
+                }
+
+                try {
+                    List<FieldResponse> existingFieldResponses = objectMapper.readValue(response.getResponses(),
+                            objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
+                    Set<String> previousFieldIds = existingFieldResponses.stream().map(FieldResponse::getFieldId).collect(Collectors.toSet());
+                    List<String> removedFieldIds = removeFieldIds.stream().filter(previousFieldIds::contains).toList();
+                    List<FieldResponse> patched = ResponseMerger.merge(existingFieldResponses, setFields.values()).stream()
+                            .filter(fr -> !removeFieldIds.contains(fr.getFieldId()))
+                            .collect(Collectors.toList());
+
+                    if (patched.isEmpty()) {
+                        formService.deleteResponse(response, removedFieldIds);
+                        deleted = true;
+                    } else if (!setFields.isEmpty() || !removedFieldIds.isEmpty()) {
+                        response.setResponses(objectMapper.writeValueAsString(patched));
+                        response.setUpdatedAt(ZonedDateTime.now());
+                        response = formService.saveResponse(response, previousFieldIds, setFields.values(), removedFieldIds);
+                    }
+                    break;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (patch.getVersion() != null || attempt >= maxMergeAttempts) {
+                        logger.debug("Concurrent update of recordId {} in form ID {}", recordId, id);
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", "The record was changed by someone else."));
+                    }
+                    logger.debug("RecordId {} of form ID {} changed concurrently, patching again", recordId, id);
+                } catch (Exception e) {
+                    logger.error("Error patching recordId {} of form ID {}: {}", recordId, id, e.getMessage(), e);
+                    return ResponseEntity.status(500).build();
+                }
+            }
+        }
+
+        ActivityLog activity = new ActivityLog(
+                deleted ? "DELETE_RESPONSE" : "UPDATE_RESPONSE",
+                formEntity.getId(),
+                formEntity.getTitle(),
+                authEmployeeId,
+                authEmployee.getEmployeeName(),
+                ZonedDateTime.now()
+        );
+        activityLogWriter.write(activity);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("recordId", recordId);
+        body.put("responseId", response.getId());
+        body.put("deleted", deleted);
+        if (!deleted) {
+            body.put("version", response.getVersion());
+        }
+        return ResponseEntity.ok(body);
     }
 
     @DeleteMapping("/employee/form/{id}/response")
-    public ResponseEntity<Void> deleteResponse(@PathVariable Long id, @RequestBody Map<String, String> request, Authentication auth) {
+    public ResponseEntity<?> deleteResponse(@PathVariable Long id, @RequestBody Map<String, String> request, Authentication auth) {
         String authEmployeeId = auth.getName();
         String recordId = request.get("recordId");
         String fieldId = request.get("fieldId");
@@ -854,7 +1910,7 @@ public class FormController {
             return ResponseEntity.badRequest().build();
         }
 
-        Employee authEmployee = employeeRepository.findByEmployeeId(authEmployeeId);
+        Employee authEmployee = currentEmployee(auth);
         if (authEmployee == null) {
             logger.error("Authenticated employee ID {} not found", authEmployeeId);
             return ResponseEntity.status(401).build();
@@ -866,42 +1922,56 @@ public class FormController {
             return ResponseEntity.notFound().build();
         }
 
-        Response responseToUpdate = responseRepository.findByFormIdAndRecordId(id, recordId)
-                .stream()
-                .findFirst()
-                .orElse(null);
-
-        if (responseToUpdate == null) {
-            logger.warn("No response found for recordId {} in form ID {}", recordId, id);
-            return ResponseEntity.notFound().build();
-        }
+        try (RecordLocks.Held ignored = recordLocks.lock(id, recordId)) {
+            for (int attempt = 1; ; attempt++) {
+                Response responseToUpdate = responseRepository.findByFormIdAndRecordId(id, recordId)
+                        .stream()
+                        .findFirst()
+                        .orElse(null);
 
-        try {
-            List<FieldResponse> fieldResponses = objectMapper.readValue(responseToUpdate.getResponses(),
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
+                if (responseToUpdate == null) {
+                    logger.warn("No response found for recordId {} in form ID {}", recordId, id);
+                    return ResponseEntity.notFound().build();
+                }
 
-            boolean fieldExists = fieldResponses.stream().anyMatch(fr -> fr.getFieldId().equals(fieldId));
-            if (!fieldExists) {
-                logger.warn("Field ID {} not found within recordId {} for deletion.", fieldId, recordId);
-                return ResponseEntity.notFound().build();
-            }
+                try {
+                    List<FieldResponse> fieldResponses = objectMapper.readValue(responseToUpdate.getResponses(),
+                            objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
 
-            List<FieldResponse> updatedFieldResponses = fieldResponses.stream()
-                    .filter(fr -> !fr.getFieldId().equals(fieldId))
-                    .collect(Collectors.toList());
+                    boolean fieldExists = fieldResponses.stream().anyMatch(fr -> fr.getFieldId().equals(fieldId));
+                    if (!fieldExists) {
+                        logger.warn("Field ID {} not found within recordId {} for deletion.", fieldId, recordId);
+                        return ResponseEntity.notFound().build();
+                    }
 
-            if (updatedFieldResponses.isEmpty()) {
-                responseRepository.delete(responseToUpdate);
-                logger.debug("Deleted entire response entity as it became empty. RecordId: {}", recordId);
-            } else {
-                responseToUpdate.setResponses(objectMapper.writeValueAsString(updatedFieldResponses));
-                formService.saveResponse(responseToUpdate);
-                logger.debug("Removed field {} from recordId {}", fieldId, recordId);
+                    List<FieldResponse> updatedFieldResponses = fieldResponses.stream()
+                            .filter(fr -> !fr.getFieldId().equals(fieldId))
+                            .collect(Collectors.toList());
+
+                    if (updatedFieldResponses.isEmpty()) {
+                        formService.deleteResponse(responseToUpdate, List.of(fieldId));
+                        logger.debug("Deleted entire response entity as it became empty. RecordId: {}", recordId);
+                    } else {
+                        responseToUpdate.setResponses(objectMapper.writeValueAsString(updatedFieldResponses));
+                        responseToUpdate.setUpdatedAt(ZonedDateTime.now());
+                        Set<String> previousFieldIds = fieldResponses.stream().map(FieldResponse::getFieldId).collect(Collectors.toSet());
+                        formService.saveResponse(responseToUpdate, previousFieldIds, Collections.emptyList(), List.of(fieldId));
+                        logger.debug("Removed field {} from recordId {}", fieldId, recordId);
+                    }
+                    break;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    if (attempt >= maxMergeAttempts) {
+                        logger.warn("Giving up on removing field {} from recordId {} of form ID {} after {} concurrent updates",
+                                fieldId, recordId, id, attempt);
+                        return ResponseEntity.status(HttpStatus.CONFLICT)
+                                .body(Map.of("message", "The record is being changed by someone else, please try again."));
+                    }
+                    logger.debug("RecordId {} of form ID {} changed concurrently, removing field {} again", recordId, id, fieldId);
+                } catch (Exception e) {
+                    logger.error("Error updating response JSON for recordId {}: {}", recordId, e.getMessage(), e);
+                    return ResponseEntity.status(500).build();
+                }
             }
-
-        } catch (Exception e) {
-            logger.error("Error updating response JSON for recordId {}: {}", recordId, e.getMessage(), e);
-            return ResponseEntity.status(500).build();
         }
 
         ActivityLog activity = new ActivityLog(
@@ -912,193 +1982,57 @@ public class FormController {
                 authEmployee.getEmployeeName(),
                 ZonedDateTime.now()
         );
-        activityLogRepository.save(activity);
+        activityLogWriter.write(activity);
 
         return ResponseEntity.ok().build();
     }
 
 
-    private List<FormResponseDTO> mapResponsesToDTO(List<Response> responses, Form form) {
+    private List<FormResponseDTO> mapResponsesToDTO(List<StoredResponse> responses, Form form) {
         List<FormResponseDTO> responseDTOs = new ArrayList<>();
-        FormContent formContent;
+        FormDefinition definition;
         try {
             if (form.getFormContent() == null) {
                 logger.error("Form content is null for form ID {}", form.getId());
                 return responseDTOs;
             }
-            formContent = objectMapper.readValue(form.getFormContent(), FormContent.class);
-            if (formContent.getFields() == null) {
-                logger.error("Form fields are null for form ID {}", form.getId());
-                return responseDTOs;
-            }
+            definition = formDefinitionCache.get(form);
         } catch (Exception e) {
             logger.error("Error parsing form content for form ID {}: {}", form.getId(), e.getMessage(), e);
             return responseDTOs;
         }
 
-        Map<String, String> fieldIdToQuestion = formContent.getFields().stream()
-                .filter(field -> field.getId() != null && field.getQuestion() != null)
-                .collect(Collectors.toMap(
-                        Field::getId,
-                        Field::getQuestion,
-                        (existing, replacement) -> existing,
-                        HashMap::new
-                ));
+        Map<String, String> fieldIdToQuestion = definition.getFieldIdToQuestion();
+        Map<String, String> respondentNames = employeeDirectory.resolveNames(
+                responses.stream().map(StoredResponse::employeeId).collect(Collectors.toSet()));
 
-        for (Response response : responses) {
+        for (StoredResponse response : responses) {
             List<FieldResponseDTO> fieldResponses = new ArrayList<>();
-            try {
-                if (response.getResponses() == null) {
-                    logger.error("Response content is null for response ID {}", response.getId());
+            for (FieldResponse fieldResponse : response.fields()) {
+                if (fieldResponse.getFieldId() == null) {
+                    logger.warn("Field ID is null in response ID {}", response.responseId());
                     continue;
                 }
-                List<FieldResponse> responseFields = objectMapper.readValue(response.getResponses(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, FieldResponse.class));
-
-                for (FieldResponse fieldResponse : responseFields) {
-                    if (fieldResponse.getFieldId() == null) {
-                        logger.warn("Field ID is null in response ID {}", response.getId());
-                        continue;
-                    }
-                    String question = fieldIdToQuestion.getOrDefault(fieldResponse.getFieldId(), "Unknown Question");
-
-                    fieldResponses.add(new FieldResponseDTO(
-                            fieldResponse.getFieldId(),
-                            question,
-                            fieldResponse.getValue(),
-                            fieldResponse.getLinkedResponseId(),
-                            response.getRecordId(),
-                            fieldResponse.getEmployeeId(),
-                            fieldResponse.getEmployeeName()
-                    ));
-                }
-            } catch (Exception e) {
-                logger.error("Error parsing response for response ID {}: {}", response.getId(), e.getMessage(), e);
-                continue;
+                String question = fieldIdToQuestion.getOrDefault(fieldResponse.getFieldId(), "Unknown Question");
+
+                fieldResponses.add(new FieldResponseDTO(
+                        fieldResponse.getFieldId(),
+                        question,
+                        fieldResponse.getValue(),
+                        fieldResponse.getLinkedResponseId(),
+                        response.recordId(),
+                        fieldResponse.getEmployeeId(),
+                        fieldResponse.getEmployeeName()
+                ));
             }
 
-            Employee respondent = employeeRepository.findByEmployeeId(response.getEmployeeId());
-            String respondentName = respondent != null ? respondent.getEmployeeName() : "Unknown";
-            responseDTOs.add(new FormResponseDTO(response.getId(), response.getEmployeeId(), respondentName, fieldResponses));
+            String respondentName = respondentNames.getOrDefault(response.employeeId(), "Unknown");
+            responseDTOs.add(new FormResponseDTO(response.responseId(), response.employeeId(), respondentName, fieldResponses));
         }
         return responseDTOs;
     }
 
     // Helper classes for JSON parsing
-    private static class FormContent {
-        private List<Field> fields;
-        private Map<Integer, List<String>> levelAssignments;
-        private List<String> accessibleFieldIds;
-        private List<Integer> levelPriorityOrder;
-        private boolean canFillCurrentLevel;
-        private Map<String, List<FieldResponse>> higherPriorityResponses;
-
-        public List<Field> getFields() {
-            return fields != null ? fields : new ArrayList<>();
-        }
-
-        public void setFields(List<Field> fields) {
-            this.fields = fields;
-        }
-
-        public Map<Integer, List<String>> getLevelAssignments() {
-            return levelAssignments != null ? levelAssignments : new HashMap<>();
-        }
-
-        public void setLevelAssignments(Map<Integer, List<String>> levelAssignments) {
-            this.levelAssignments = levelAssignments;
-        }
-
-        public List<String> getAccessibleFieldIds() {
-            return accessibleFieldIds != null ? accessibleFieldIds : new ArrayList<>();
-        }
-
-        public void setAccessibleFieldIds(List<String> accessibleFieldIds) {
-            this.accessibleFieldIds = accessibleFieldIds;
-        }
-
-        public List<Integer> getLevelPriorityOrder() {
-            return levelPriorityOrder != null ? levelPriorityOrder : new ArrayList<>();
-        }
-
-        public void setLevelPriorityOrder(List<Integer> levelPriorityOrder) {
-            this.levelPriorityOrder = levelPriorityOrder;
-        }
-
-        public boolean isCanFillCurrentLevel() {
-            return canFillCurrentLevel;
-        }
-
-        public void setCanFillCurrentLevel(boolean canFillCurrentLevel) {
-            this.canFillCurrentLevel = canFillCurrentLevel;
-        }
-
-        public Map<String, List<FieldResponse>> getHigherPriorityResponses() {
-            return higherPriorityResponses != null ? higherPriorityResponses : new HashMap<>();
-        }
-
-        public void setHigherPriorityResponses(Map<String, List<FieldResponse>> higherPriorityResponses) {
-            this.higherPriorityResponses = higherPriorityResponses;
-        }
-    }
-
-    private static class Field {
-        private String id;
-        private String question;
-        private String type;
-        private List<Integer> levelNumbers;
-        private List<String> options; // Renamed from answers to options for clarity
-        private List<String> answers; // For other purposes, if needed
-
-        public String getId() {
-            return id;
-        }
-
-        public void setId(String id) {
-            this.id = id;
-        }
-
-        public String getQuestion() {
-            return question;
-        }
-
-        public void setQuestion(String question) {
-            this.question = question;
-        }
-
-        public String getType() {
-            return type;
-        }
-
-        public void setType(String type) {
-            this.type = type;
-        }
-
-        public List<Integer> getLevelNumbers() {
-            return levelNumbers != null ? levelNumbers : new ArrayList<>();
-        }
-
-        public void setLevelNumbers(List<Integer> levelNumbers) {
-            this.levelNumbers = levelNumbers;
-        }
-
-        public List<String> getOptions() {
-            return options != null ? options : new ArrayList<>();
-        }
-
-        public void setOptions(List<String> options) {
-            this.options = options;
-        }
-
-        public List<String> getAnswers() {
-            return answers != null ? answers : new ArrayList<>();
-        }
-
-        public void setAnswers(List<String> answers) {
-            this.answers = answers;
-        }
-    }
-
     private static class FormRequest {
         private String title;
         private String formContent;
@@ -1227,6 +2161,53 @@ public class FormController {
         public String getEmployeeName() { return employeeName; }
     }
 
+    private static class RecordResultDTO {
+        private String recordId;
+        private String status;
+        private Long responseId;
+        private String message;
+
+        public RecordResultDTO(String recordId, String status, Long responseId, String message) {
+            this.recordId = recordId;
+            this.status = status;
+            this.responseId = responseId;
+            this.message = message;
+        }
+
+        static RecordResultDTO rejected(String recordId, String message) {
+            return new RecordResultDTO(recordId, "REJECTED", null, message);
+        }
+
+        public String getRecordId() { return recordId; }
+        public String getStatus() { return status; }
+        public Long getResponseId() { return responseId; }
+        public String getMessage() { return message; }
+    }
+
+    private static class ResponsePageDTO {
+        private List<FormResponseDTO> items;
+        private String nextCursor;
+        private Long totalCount;
+
+        public ResponsePageDTO(List<FormResponseDTO> items, String nextCursor, Long totalCount) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.totalCount = totalCount;
+        }
+
+        public List<FormResponseDTO> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public Long getTotalCount() {
+            return totalCount;
+        }
+    }
+
     private static class OwnerResponseDTO {
         private Long formId;
         private String formTitle;
@@ -1263,6 +2244,50 @@ public class FormController {
         }
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private static class FormWorkspaceDTO {
+        private Form form;
+        private List<FormResponseDTO> responses;
+        private List<Map<String, Object>> activity;
+
+        public FormWorkspaceDTO(Form form, List<FormResponseDTO> responses, List<Map<String, Object>> activity) {
+            this.form = form;
+            this.responses = responses;
+            this.activity = activity;
+        }
+
+        public Form getForm() { return form; }
+        public List<FormResponseDTO> getResponses() { return responses; }
+        public List<Map<String, Object>> getActivity() { return activity; }
+    }
+
+    private static class RecordPatchRequest {
+        private Long version;
+        private List<FieldOperation> operations;
+
+        public Long getVersion() { return version; }
+        public void setVersion(Long version) { this.version = version; }
+        public List<FieldOperation> getOperations() { return operations; }
+        public void setOperations(List<FieldOperation> operations) { this.operations = operations; }
+
+        // {"op": "set", "fieldId": "...", "value": "..."} or {"op": "remove", "fieldId": "..."}
+        public static class FieldOperation {
+            private String op;
+            private String fieldId;
+            private String value;
+            private String linkedResponseId;
+
+            public String getOp() { return op; }
+            public void setOp(String op) { this.op = op; }
+            public String getFieldId() { return fieldId; }
+            public void setFieldId(String fieldId) { this.fieldId = fieldId; }
+            public String getValue() { return value; }
+            public void setValue(String value) { this.value = value; }
+            public String getLinkedResponseId() { return linkedResponseId; }
+            public void setLinkedResponseId(String linkedResponseId) { this.linkedResponseId = linkedResponseId; }
+        }
+    }
+
     private static class ResponseRequest {
         private String recordId; // Add this field
         private List<FieldResponse> responses;
@@ -1331,62 +2356,4 @@ public class FormController {
             this.recordId = recordId;
         }
     }
-
-    private static class FieldResponse {
-        private String employeeId;
-        private String employeeName;
-        private String fieldId;
-        private String value;
-        private String linkedResponseId;
-
-        public FieldResponse() { } // * ADD THIS NO-ARG CONSTRUCTOR FOR JACKSON
-
-        public FieldResponse(String employeeId, String employeeName, String fieldId, String value, String linkedResponseId) {
-            this.employeeId = employeeId;
-            this.employeeName = employeeName;
-            this.fieldId = fieldId;
-            this.value = value;
-            this.linkedResponseId = linkedResponseId;
-        }
-
-        public String getEmployeeId() {
-            return employeeId;
-        }
-
-        public void setEmployeeId(String employeeId) {
-            this.employeeId = employeeId;
-        }
-
-        public String getEmployeeName() {
-            return employeeName;
-        }
-
-        public void setEmployeeName(String employeeName) {
-            this.employeeName = employeeName;
-        }
-
-        public String getFieldId() {
-            return fieldId;
-        }
-
-        public void setFieldId(String fieldId) {
-            this.fieldId = fieldId;
-        }
-
-        public String getValue() {
-            return value;
-        }
-
-        public void setValue(String value) {
-            this.value = value;
-        }
-
-        public String getLinkedResponseId() {
-            return linkedResponseId;
-        }
-
-        public void setLinkedResponseId(String linkedResponseId) {
-            this.linkedResponseId = linkedResponseId;
-        }
-    }
 }
\ No newline at end of file
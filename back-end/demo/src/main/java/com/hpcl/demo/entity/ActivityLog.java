@@ -5,7 +5,9 @@ import java.time.ZonedDateTime;
 import java.util.Objects; // IMPORT THIS
 
 @Entity
-@Table(name = "activity_log")
+@Table(name = "activity_log", indexes = {
+        @Index(name = "idx_activity_log_form_time", columnList = "form_id, timestamp")
+})
 public class ActivityLog {
 
     @Id
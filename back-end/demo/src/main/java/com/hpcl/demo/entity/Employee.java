@@ -1,11 +1,14 @@
 package com.hpcl.demo.entity;
 
+import com.hpcl.demo.config.EmployeeCredentialListener;
+import com.hpcl.demo.service.EmployeeDirectoryListener;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
 @Table(name = "employee")
 @Data
+@EntityListeners({EmployeeCredentialListener.class, EmployeeDirectoryListener.class})
 public class Employee {
     @Id
     @Column(name = "employee_id")
@@ -0,0 +1,58 @@
+package com.hpcl.demo.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * A single question inside {@link FormContent}. Instances are immutable so parsed form
+ * definitions can be shared between requests.
+ */
+public class Field {
+    private final String id;
+    private final String question;
+    private final String type;
+    private final List<Integer> levelNumbers;
+    private final List<String> options; // Renamed from answers to options for clarity
+    private final List<String> answers; // For other purposes, if needed
+
+    @JsonCreator
+    public Field(@JsonProperty("id") String id,
+                 @JsonProperty("question") String question,
+                 @JsonProperty("type") String type,
+                 @JsonProperty("levelNumbers") List<Integer> levelNumbers,
+                 @JsonProperty("options") List<String> options,
+                 @JsonProperty("answers") List<String> answers) {
+        this.id = id;
+        this.question = question;
+        this.type = type;
+        this.levelNumbers = levelNumbers != null ? List.copyOf(levelNumbers) : List.of();
+        this.options = options != null ? List.copyOf(options) : List.of();
+        this.answers = answers != null ? List.copyOf(answers) : List.of();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public List<Integer> getLevelNumbers() {
+        return levelNumbers;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public List<String> getAnswers() {
+        return answers;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hpcl.demo.entity;
+
+/**
+ * One answered field as stored in the {@link Response#getResponses()} JSON array.
+ */
+public class FieldResponse {
+    private String employeeId;
+    private String employeeName;
+    private String fieldId;
+    private String value;
+    private String linkedResponseId;
+
+    public FieldResponse() { } // No-arg constructor for Jackson
+
+    public FieldResponse(String employeeId, String employeeName, String fieldId, String value, String linkedResponseId) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.fieldId = fieldId;
+        this.value = value;
+        this.linkedResponseId = linkedResponseId;
+    }
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public String getFieldId() {
+        return fieldId;
+    }
+
+    public void setFieldId(String fieldId) {
+        this.fieldId = fieldId;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getLinkedResponseId() {
+        return linkedResponseId;
+    }
+
+    public void setLinkedResponseId(String linkedResponseId) {
+        this.linkedResponseId = linkedResponseId;
+    }
+}
@@ -1,10 +1,14 @@
 package com.hpcl.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
 @Entity
 @Table(name = "form")
 @Data
@@ -29,6 +33,22 @@ public class Form {
 
     private boolean isActive = true;
 
+    // Set once form_employee_level has been written for this form, so the startup backfill skips
+    // forms that simply have no assignments instead of re-parsing them on every start.
+    @JsonIgnore
+    @Column(name = "assignments_indexed", nullable = false, columnDefinition = "BOOLEAN NOT NULL DEFAULT FALSE")
+    private boolean assignmentsIndexed;
+
+    // Bumped on every insert/update; parsed form definitions are cached against it.
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touchUpdatedAt() {
+        updatedAt = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // Explicit getters and setters to ensure compatibility
     public Long getId() {
         return id;
@@ -77,4 +97,12 @@ public class Form {
     public void setActive(boolean active) {
         isActive = active;
     }
+
+    public ZonedDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(ZonedDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.hpcl.demo.entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON shape of {@link Form#getFormContent()}. The last three properties are not stored;
+ * they are filled in per viewer before the form is returned.
+ */
+public class FormContent {
+    private List<Field> fields;
+    private Map<Integer, List<String>> levelAssignments;
+    private List<String> accessibleFieldIds;
+    private List<Integer> levelPriorityOrder;
+    private boolean canFillCurrentLevel;
+    private Map<String, List<FieldResponse>> higherPriorityResponses;
+
+    public List<Field> getFields() {
+        return fields != null ? fields : new ArrayList<>();
+    }
+
+    public void setFields(List<Field> fields) {
+        this.fields = fields;
+    }
+
+    public Map<Integer, List<String>> getLevelAssignments() {
+        return levelAssignments != null ? levelAssignments : new HashMap<>();
+    }
+
+    public void setLevelAssignments(Map<Integer, List<String>> levelAssignments) {
+        this.levelAssignments = levelAssignments;
+    }
+
+    public List<String> getAccessibleFieldIds() {
+        return accessibleFieldIds != null ? accessibleFieldIds : new ArrayList<>();
+    }
+
+    public void setAccessibleFieldIds(List<String> accessibleFieldIds) {
+        this.accessibleFieldIds = accessibleFieldIds;
+    }
+
+    public List<Integer> getLevelPriorityOrder() {
+        return levelPriorityOrder != null ? levelPriorityOrder : new ArrayList<>();
+    }
+
+    public void setLevelPriorityOrder(List<Integer> levelPriorityOrder) {
+        this.levelPriorityOrder = levelPriorityOrder;
+    }
+
+    public boolean isCanFillCurrentLevel() {
+        return canFillCurrentLevel;
+    }
+
+    public void setCanFillCurrentLevel(boolean canFillCurrentLevel) {
+        this.canFillCurrentLevel = canFillCurrentLevel;
+    }
+
+    public Map<String, List<FieldResponse>> getHigherPriorityResponses() {
+        return higherPriorityResponses != null ? higherPriorityResponses : new HashMap<>();
+    }
+
+    public void setHigherPriorityResponses(Map<String, List<FieldResponse>> higherPriorityResponses) {
+        this.higherPriorityResponses = higherPriorityResponses;
+    }
+}
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
-@Table(name = "form_employee_level")
+@Table(name = "form_employee_level", indexes = {
+        @Index(name = "idx_form_employee_level_employee", columnList = "employee_id, form_id"),
+        @Index(name = "idx_form_employee_level_form", columnList = "form_id")
+})
 @Data
 public class FormEmployeeLevel {
     @Id
@@ -0,0 +1,35 @@
+package com.hpcl.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Dashboard counters of one employee in a form: the response rows (records) they created there and
+ * when one of those was last saved. Maintained by FormStatsTracker.
+ */
+@Entity
+@Table(name = "form_employee_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_form_employee_stats", columnNames = {"form_id", "employee_id"})
+}, indexes = {
+        @Index(name = "idx_form_employee_stats_employee", columnList = "employee_id, response_count, last_submission_at")
+})
+@Data
+public class FormEmployeeStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(name = "employee_id", nullable = false)
+    private String employeeId;
+
+    @Column(name = "response_count", nullable = false)
+    private Long responseCount = 0L;
+
+    @Column(name = "last_submission_at")
+    private ZonedDateTime lastSubmissionAt;
+}
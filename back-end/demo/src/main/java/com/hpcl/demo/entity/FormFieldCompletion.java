@@ -0,0 +1,28 @@
+package com.hpcl.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Number of stored responses that answer a given field of a form. A field counts as filled
+ * for the level gate as soon as its count is above zero.
+ */
+@Entity
+@Table(name = "form_field_completion", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_form_field_completion", columnNames = {"form_id", "field_id"})
+})
+@Data
+public class FormFieldCompletion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(name = "field_id", nullable = false)
+    private String fieldId;
+
+    @Column(name = "answered_count", nullable = false)
+    private Integer answeredCount = 0;
+}
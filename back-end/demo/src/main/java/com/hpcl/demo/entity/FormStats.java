@@ -0,0 +1,25 @@
+package com.hpcl.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Dashboard counters of a form: how many response rows it has and when one was last saved.
+ * Maintained by FormStatsTracker; a form without responses may have no row.
+ */
+@Entity
+@Table(name = "form_stats")
+@Data
+public class FormStats {
+    @Id
+    @Column(name = "form_id")
+    private Long formId;
+
+    @Column(name = "response_count", nullable = false)
+    private Long responseCount = 0L;
+
+    @Column(name = "last_submission_at")
+    private ZonedDateTime lastSubmissionAt;
+}
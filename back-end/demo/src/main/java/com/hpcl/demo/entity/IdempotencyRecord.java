@@ -0,0 +1,39 @@
+package com.hpcl.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Stored outcome of a request sent with an Idempotency-Key header, replayed when the same key
+ * comes again before {@code expiresAt}. The id is a digest of endpoint, employee and key.
+ */
+@Entity
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_expires", columnList = "expires_at")
+})
+@Data
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "scope_hash", length = 64)
+    private String scopeHash;
+
+    @Column(name = "employee_id", nullable = false)
+    private String employeeId;
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    @Column(name = "response_body", columnDefinition = "MEDIUMTEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private ZonedDateTime expiresAt;
+}
@@ -4,10 +4,26 @@ import jakarta.persistence.*;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table(name = "responses")
+@Table(name = "responses", indexes = {
+        @Index(name = "idx_responses_form_id", columnList = "form_id, id"),
+        @Index(name = "idx_responses_form_created", columnList = "form_id, created_at, id")
+}, uniqueConstraints = {
+        // The merge key: a second insert of the same record, e.g. from another node, fails instead of duplicating it.
+        // Also serves the (form_id, record_id) lookups. See FormService.ensureRecordKey for existing tables.
+        @UniqueConstraint(name = Response.RECORD_KEY, columnNames = {"form_id", "record_id"})
+})
 public class Response {
+    public static final String RECORD_KEY = "uk_responses_form_record";
+
+    /**
+     * Ids are allocated in blocks from response_seq (a table on MySQL) rather than by AUTO_INCREMENT,
+     * so Hibernate can batch inserts. See ResponseSequenceInitializer.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "response_seq")
+    @SequenceGenerator(name = "response_seq", sequenceName = "response_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "form_id")
@@ -25,9 +41,19 @@ public class Response {
     @Column(columnDefinition = "TEXT")
     private String responses;
 
+    // Creation time only: keyset pages sorted on it must not move rows that are edited in between.
     @Column(name = "created_at")
     private ZonedDateTime time;
 
+    // Set on creation and on every update; null for rows written before the column existed.
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    // Bumped on every update; the default lets ddl-auto add the column to existing rows.
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -43,4 +69,8 @@ public class Response {
     public void setResponses(String responses) { this.responses = responses; }
     public ZonedDateTime getTime() { return time; }
     public void setTime(ZonedDateTime time) { this.time = time; }
+    public ZonedDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(ZonedDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
\ No newline at end of file
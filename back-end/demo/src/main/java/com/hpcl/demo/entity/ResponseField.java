@@ -0,0 +1,47 @@
+package com.hpcl.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Normalized copy of one {@link FieldResponse} of a {@link Response}: one row per response row and field.
+ */
+@Entity
+@Table(name = "response_field",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_response_field", columnNames = {"response_id", "field_id"})
+        },
+        indexes = {
+                @Index(name = "idx_response_field_form_field", columnList = "form_id, field_id"),
+                @Index(name = "idx_response_field_form_record", columnList = "form_id, record_id")
+        })
+@Data
+public class ResponseField {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "response_id", nullable = false)
+    private Long responseId;
+
+    @Column(name = "form_id", nullable = false)
+    private Long formId;
+
+    @Column(name = "record_id")
+    private String recordId;
+
+    @Column(name = "field_id", nullable = false)
+    private String fieldId;
+
+    @Column(name = "field_value", columnDefinition = "TEXT")
+    private String value;
+
+    @Column(name = "employee_id")
+    private String employeeId;
+
+    @Column(name = "employee_name")
+    private String employeeName;
+
+    @Column(name = "linked_response_id")
+    private String linkedResponseId;
+}
@@ -0,0 +1,35 @@
+package com.hpcl.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A bearer token revocation, shared so every node can pick it up. A row revokes either one token
+ * ({@code tokenId}) or every token issued to an employee up to {@code revokedAt} ({@code employeeId}).
+ * Rows are written and read by TokenService through JDBC and deleted once {@code expiresAt} has passed.
+ */
+@Entity
+@Table(name = "token_revocation", indexes = {
+        @Index(name = "idx_token_revocation_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_token_revocation_expires_at", columnList = "expires_at")
+})
+@Data
+public class TokenRevocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "employee_id")
+    private String employeeId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private ZonedDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private ZonedDateTime expiresAt;
+}
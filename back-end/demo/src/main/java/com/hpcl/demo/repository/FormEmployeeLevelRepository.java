@@ -2,9 +2,24 @@ package com.hpcl.demo.repository;
 
 import com.hpcl.demo.entity.FormEmployeeLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface FormEmployeeLevelRepository extends JpaRepository<FormEmployeeLevel, Long> {
     List<FormEmployeeLevel> findByEmployeeId(String employeeId);
-}
\ No newline at end of file
+
+    List<FormEmployeeLevel> findByFormId(Long formId);
+
+    @Query("SELECT DISTINCT l.formId FROM FormEmployeeLevel l WHERE l.employeeId = :employeeId")
+    List<Long> findDistinctFormIdsByEmployeeId(@Param("employeeId") String employeeId);
+
+    /**
+     * Bulk delete of every assignment row for a form, used when the index for that form is rewritten.
+     */
+    @Modifying
+    @Query("DELETE FROM FormEmployeeLevel l WHERE l.formId = :formId")
+    void deleteByFormId(@Param("formId") Long formId);
+}
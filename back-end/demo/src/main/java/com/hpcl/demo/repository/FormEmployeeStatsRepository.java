@@ -0,0 +1,65 @@
+package com.hpcl.demo.repository;
+
+import com.hpcl.demo.entity.FormEmployeeStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FormEmployeeStatsRepository extends JpaRepository<FormEmployeeStats, Long> {
+
+    /**
+     * Counters of one employee summed over all forms.
+     */
+    interface EmployeeTotals {
+        String getEmployeeId();
+        long getResponseCount();
+        ZonedDateTime getLastSubmissionAt();
+    }
+
+    /**
+     * One page of employee totals in employee id order. The employee index lets the database group in
+     * index order and stop after the page.
+     */
+    @Query("SELECT s.employeeId AS employeeId, SUM(s.responseCount) AS responseCount, " +
+            "MAX(s.lastSubmissionAt) AS lastSubmissionAt FROM FormEmployeeStats s GROUP BY s.employeeId ORDER BY s.employeeId")
+    List<EmployeeTotals> findEmployeeTotals(Pageable pageable);
+
+    @Query("SELECT s.employeeId AS employeeId, SUM(s.responseCount) AS responseCount, " +
+            "MAX(s.lastSubmissionAt) AS lastSubmissionAt FROM FormEmployeeStats s WHERE s.employeeId IN :employeeIds " +
+            "GROUP BY s.employeeId ORDER BY s.employeeId")
+    List<EmployeeTotals> findEmployeeTotalsByEmployeeIdIn(@Param("employeeIds") Collection<String> employeeIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO form_employee_stats (form_id, employee_id, response_count) " +
+            "VALUES (:formId, :employeeId, GREATEST(:delta, 0)) " +
+            "ON DUPLICATE KEY UPDATE response_count = GREATEST(response_count + :delta, 0)", nativeQuery = true)
+    void adjustResponseCount(@Param("formId") Long formId, @Param("employeeId") String employeeId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "INSERT INTO form_employee_stats (form_id, employee_id, response_count, last_submission_at) " +
+            "VALUES (:formId, :employeeId, GREATEST(:delta, 0), :time) " +
+            "ON DUPLICATE KEY UPDATE response_count = GREATEST(response_count + :delta, 0), " +
+            "last_submission_at = GREATEST(COALESCE(last_submission_at, :time), :time)", nativeQuery = true)
+    void recordSubmission(@Param("formId") Long formId, @Param("employeeId") String employeeId,
+                          @Param("delta") long delta, @Param("time") ZonedDateTime time);
+
+    @Modifying
+    @Query("DELETE FROM FormEmployeeStats s WHERE s.formId = :formId")
+    void deleteByFormId(@Param("formId") Long formId);
+
+    @Modifying
+    @Query("DELETE FROM FormEmployeeStats s")
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO form_employee_stats (form_id, employee_id, response_count, last_submission_at) " +
+            "SELECT form_id, employee_id, COUNT(*), MAX(COALESCE(updated_at, created_at)) FROM responses " +
+            "WHERE form_id IS NOT NULL AND employee_id IS NOT NULL GROUP BY form_id, employee_id", nativeQuery = true)
+    int insertFromResponses();
+}
@@ -0,0 +1,29 @@
+package com.hpcl.demo.repository;
+
+import com.hpcl.demo.entity.FormFieldCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface FormFieldCompletionRepository extends JpaRepository<FormFieldCompletion, Long> {
+
+    @Query("SELECT c.fieldId FROM FormFieldCompletion c WHERE c.formId = :formId AND c.answeredCount > 0")
+    List<String> findAnsweredFieldIds(@Param("formId") Long formId);
+
+    /**
+     * Atomically adds {@code delta} to the answered count of a field, creating the row if needed.
+     * Counts never drop below zero.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO form_field_completion (form_id, field_id, answered_count) " +
+            "VALUES (:formId, :fieldId, GREATEST(:delta, 0)) " +
+            "ON DUPLICATE KEY UPDATE answered_count = GREATEST(answered_count + :delta, 0)", nativeQuery = true)
+    void adjustAnsweredCount(@Param("formId") Long formId, @Param("fieldId") String fieldId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("DELETE FROM FormFieldCompletion c WHERE c.formId = :formId")
+    void deleteByFormId(@Param("formId") Long formId);
+}
@@ -1,10 +1,69 @@
 package com.hpcl.demo.repository;
 
 import com.hpcl.demo.entity.Form;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface FormRepository extends JpaRepository<Form, Long> {
+
+    /**
+     * Listing view of a form without its formContent JSON.
+     */
+    interface FormSummary {
+        Long getId();
+        String getTitle();
+        String getOwnerEmployeeId();
+        boolean isActive();
+        Integer getNumLevels();
+        long getResponseCount();
+        ZonedDateTime getLastActivityAt();
+    }
+
     List<Form> findByOwnerEmployeeId(String ownerEmployeeId);
-}
\ No newline at end of file
+
+    @Query("SELECT COUNT(f) FROM Form f WHERE f.isActive = :active")
+    long countByActive(@Param("active") boolean active);
+
+    // Forms the employee owns or is assigned to at any level, resolved through the form_employee_level index.
+    @Query("SELECT f FROM Form f WHERE f.ownerEmployeeId = :employeeId " +
+            "OR f.id IN (SELECT l.formId FROM FormEmployeeLevel l WHERE l.employeeId = :employeeId) " +
+            "ORDER BY f.id")
+    List<Form> findVisibleToEmployee(@Param("employeeId") String employeeId);
+
+    // --- Summaries for the dashboard; titlePattern is a LIKE pattern with ! as escape character ---
+
+    @Query("SELECT f.id AS id, f.title AS title, f.ownerEmployeeId AS ownerEmployeeId, f.isActive AS active, " +
+            "f.numLevels AS numLevels, " +
+            "(SELECT COUNT(r.id) FROM Response r WHERE r.formId = f.id) AS responseCount, " +
+            "(SELECT MAX(a.timestamp) FROM ActivityLog a WHERE a.formId = f.id) AS lastActivityAt " +
+            "FROM Form f WHERE f.title LIKE :titlePattern ESCAPE '!' ORDER BY f.id")
+    List<FormSummary> findSummaries(@Param("titlePattern") String titlePattern, Pageable pageable);
+
+    @Query("SELECT f.id AS id, f.title AS title, f.ownerEmployeeId AS ownerEmployeeId, f.isActive AS active, " +
+            "f.numLevels AS numLevels, " +
+            "(SELECT COUNT(r.id) FROM Response r WHERE r.formId = f.id) AS responseCount, " +
+            "(SELECT MAX(a.timestamp) FROM ActivityLog a WHERE a.formId = f.id) AS lastActivityAt " +
+            "FROM Form f WHERE f.title LIKE :titlePattern ESCAPE '!' AND (f.ownerEmployeeId = :employeeId " +
+            "OR f.id IN (SELECT l.formId FROM FormEmployeeLevel l WHERE l.employeeId = :employeeId)) " +
+            "ORDER BY f.id")
+    List<FormSummary> findSummariesVisibleToEmployee(@Param("employeeId") String employeeId,
+                                                     @Param("titlePattern") String titlePattern, Pageable pageable);
+
+    // Forms that have no rows in form_employee_level yet and were never examined by the backfill,
+    // i.e. created before the index existed.
+    @Query("SELECT f FROM Form f WHERE f.assignmentsIndexed = false AND " +
+            "NOT EXISTS (SELECT l.id FROM FormEmployeeLevel l WHERE l.formId = f.id)")
+    List<Form> findWithoutAssignmentIndex();
+
+    // Bulk update, so updated_at (and with it the cached form definition) is left alone.
+    @Modifying
+    @Query("UPDATE Form f SET f.assignmentsIndexed = true WHERE f.id IN :ids")
+    int markAssignmentsIndexed(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,55 @@
+package com.hpcl.demo.repository;
+
+import com.hpcl.demo.entity.FormStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface FormStatsRepository extends JpaRepository<FormStats, Long> {
+
+    @Query("SELECT COALESCE(SUM(s.responseCount), 0) FROM FormStats s")
+    long sumResponseCounts();
+
+    List<FormStats> findAllByOrderByFormIdAsc(Pageable pageable);
+
+    List<FormStats> findByFormIdInOrderByFormIdAsc(Collection<Long> formIds);
+
+    /**
+     * Atomically adds {@code delta} to the response count of a form, creating the row if needed.
+     * Counts never drop below zero.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO form_stats (form_id, response_count) VALUES (:formId, GREATEST(:delta, 0)) " +
+            "ON DUPLICATE KEY UPDATE response_count = GREATEST(response_count + :delta, 0)", nativeQuery = true)
+    void adjustResponseCount(@Param("formId") Long formId, @Param("delta") long delta);
+
+    /**
+     * Same as {@link #adjustResponseCount} and moves the last submission time forward to {@code time}.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO form_stats (form_id, response_count, last_submission_at) " +
+            "VALUES (:formId, GREATEST(:delta, 0), :time) " +
+            "ON DUPLICATE KEY UPDATE response_count = GREATEST(response_count + :delta, 0), " +
+            "last_submission_at = GREATEST(COALESCE(last_submission_at, :time), :time)", nativeQuery = true)
+    void recordSubmission(@Param("formId") Long formId, @Param("delta") long delta, @Param("time") ZonedDateTime time);
+
+    @Modifying
+    @Query("DELETE FROM FormStats s WHERE s.formId = :formId")
+    void deleteByFormId(@Param("formId") Long formId);
+
+    @Modifying
+    @Query("DELETE FROM FormStats s")
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO form_stats (form_id, response_count, last_submission_at) " +
+            "SELECT form_id, COUNT(*), MAX(COALESCE(updated_at, created_at)) FROM responses WHERE form_id IS NOT NULL GROUP BY form_id",
+            nativeQuery = true)
+    int insertFromResponses();
+}
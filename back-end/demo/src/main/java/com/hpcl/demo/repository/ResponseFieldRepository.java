@@ -0,0 +1,52 @@
+package com.hpcl.demo.repository;
+
+import com.hpcl.demo.entity.ResponseField;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ResponseFieldRepository extends JpaRepository<ResponseField, Long> {
+
+    List<ResponseField> findByFormIdOrderByResponseIdAscIdAsc(Long formId);
+
+    List<ResponseField> findByFormIdAndFieldIdInOrderByResponseIdAscIdAsc(Long formId, Collection<String> fieldIds);
+
+    List<ResponseField> findByResponseIdInOrderByResponseIdAscIdAsc(Collection<Long> responseIds);
+
+    List<ResponseField> findByFormIdInOrderByResponseIdAscIdAsc(Collection<Long> formIds);
+
+    /**
+     * Single-row upsert keyed by (response_id, field_id).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO response_field " +
+            "(response_id, form_id, record_id, field_id, field_value, employee_id, employee_name, linked_response_id) " +
+            "VALUES (:responseId, :formId, :recordId, :fieldId, :value, :employeeId, :employeeName, :linkedResponseId) " +
+            "ON DUPLICATE KEY UPDATE field_value = VALUES(field_value), employee_id = VALUES(employee_id), " +
+            "employee_name = VALUES(employee_name), linked_response_id = VALUES(linked_response_id), " +
+            "record_id = VALUES(record_id)", nativeQuery = true)
+    void upsert(@Param("responseId") Long responseId,
+                @Param("formId") Long formId,
+                @Param("recordId") String recordId,
+                @Param("fieldId") String fieldId,
+                @Param("value") String value,
+                @Param("employeeId") String employeeId,
+                @Param("employeeName") String employeeName,
+                @Param("linkedResponseId") String linkedResponseId);
+
+    @Modifying
+    @Query("DELETE FROM ResponseField f WHERE f.responseId = :responseId AND f.fieldId IN :fieldIds")
+    void deleteByResponseIdAndFieldIdIn(@Param("responseId") Long responseId, @Param("fieldIds") Collection<String> fieldIds);
+
+    @Modifying
+    @Query("DELETE FROM ResponseField f WHERE f.responseId = :responseId")
+    void deleteByResponseId(@Param("responseId") Long responseId);
+
+    @Modifying
+    @Query("DELETE FROM ResponseField f WHERE f.formId = :formId")
+    void deleteByFormId(@Param("formId") Long formId);
+}
@@ -1,16 +1,44 @@
 package com.hpcl.demo.repository;
 
 import com.hpcl.demo.entity.Response;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ResponseRepository extends JpaRepository<Response, Long> {
 
+    /**
+     * Response row without its JSON blob, used when field values are read from response_field.
+     */
+    interface ResponseHeader {
+        Long getId();
+        String getEmployeeId();
+        String getRecordId();
+        ZonedDateTime getTime();
+        ZonedDateTime getUpdatedAt();
+    }
+
+    interface FormResponseHeader extends ResponseHeader {
+        Long getFormId();
+    }
+
+    interface RecordKey {
+        Long getFormId();
+        String getRecordId();
+    }
+
     // --- Query Methods (Read-only) ---
 
     List<Response> findByFormId(Long formId);
@@ -21,6 +49,84 @@ public interface ResponseRepository extends JpaRepository<Response, Long> {
 
     List<Response> findByFormIdAndRecordId(Long formId, String recordId);
 
+    List<Response> findByFormIdAndRecordIdIn(Long formId, Collection<String> recordIds);
+
+    // Forms that have responses but no form_field_completion rows, i.e. answered before the tracker existed.
+    @Query("SELECT DISTINCT r.formId FROM Response r WHERE r.formId IS NOT NULL AND NOT EXISTS " +
+            "(SELECT c.id FROM FormFieldCompletion c WHERE c.formId = r.formId)")
+    List<Long> findFormIdsWithoutCompletionState();
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId ORDER BY r.id")
+    List<ResponseHeader> findHeadersByFormId(@Param("formId") Long formId);
+
+    // --- Several forms in one query (see ResponseReader.readForms) ---
+
+    List<Response> findByFormIdInOrderByIdAsc(Collection<Long> formIds);
+
+    @Query("SELECT r.formId AS formId, r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId IN :formIds ORDER BY r.id")
+    List<FormResponseHeader> findHeadersByFormIdIn(@Param("formIds") Collection<Long> formIds);
+
+    /**
+     * Streams the responses of a form in id order. A fetch size of Integer.MIN_VALUE makes MySQL
+     * Connector/J stream rows instead of buffering the whole result; must be consumed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT r FROM Response r WHERE r.formId = :formId ORDER BY r.id")
+    Stream<Response> streamByFormId(@Param("formId") Long formId);
+
+    @Query("SELECT DISTINCT r.employeeId FROM Response r WHERE r.formId = :formId AND r.employeeId IS NOT NULL")
+    List<String> findDistinctEmployeeIdsByFormId(@Param("formId") Long formId);
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId AND r.id > :afterId ORDER BY r.id")
+    List<ResponseHeader> findHeadersByFormIdAfter(@Param("formId") Long formId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // --- Keyset pages of response headers (see ResponseReader.readPage) ---
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<ResponseHeader> findHeadersByFormIdBefore(@Param("formId") Long formId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId AND r.time IS NOT NULL ORDER BY r.time ASC, r.id ASC")
+    List<ResponseHeader> findHeadersByFormIdOrderByTimeAsc(@Param("formId") Long formId, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId AND (r.time > :time OR (r.time = :time AND r.id > :id)) " +
+            "ORDER BY r.time ASC, r.id ASC")
+    List<ResponseHeader> findHeadersByFormIdAfterTime(@Param("formId") Long formId, @Param("time") ZonedDateTime time,
+                                                      @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId AND r.time IS NOT NULL ORDER BY r.time DESC, r.id DESC")
+    List<ResponseHeader> findHeadersByFormIdOrderByTimeDesc(@Param("formId") Long formId, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.employeeId AS employeeId, r.recordId AS recordId, r.time AS time, r.updatedAt AS updatedAt " +
+            "FROM Response r WHERE r.formId = :formId AND (r.time < :time OR (r.time = :time AND r.id < :id)) " +
+            "ORDER BY r.time DESC, r.id DESC")
+    List<ResponseHeader> findHeadersByFormIdBeforeTime(@Param("formId") Long formId, @Param("time") ZonedDateTime time,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    long countByFormId(Long formId);
+
+    @Query("SELECT DISTINCT r.recordId FROM Response r WHERE r.formId = :formId AND r.recordId IS NOT NULL")
+    List<String> findDistinctRecordIdsByFormId(@Param("formId") Long formId);
+
+    // Records stored in more than one row, written before the merge key was unique.
+    @Query("SELECT r.formId AS formId, r.recordId AS recordId FROM Response r WHERE r.recordId IS NOT NULL " +
+            "GROUP BY r.formId, r.recordId HAVING COUNT(r) > 1")
+    List<RecordKey> findDuplicateRecordKeys();
+
+    // Responses without response_field rows yet, in id order, for the blob-to-field migration.
+    @Query("SELECT r FROM Response r WHERE r.id > :afterId AND NOT EXISTS " +
+            "(SELECT f.id FROM ResponseField f WHERE f.responseId = r.id) ORDER BY r.id")
+    List<Response> findWithoutResponseFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 
     // --- Modifying Methods (Write/Delete) ---
 
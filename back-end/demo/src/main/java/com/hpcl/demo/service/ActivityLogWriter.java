@@ -0,0 +1,322 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.ActivityLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Takes activity_log inserts off the request thread. Entries are queued and a single background
+ * thread writes them with JDBC batch inserts, either when batch-size entries are waiting or when
+ * flush-interval has passed since the first entry of the batch.
+ * <p>
+ * ActivityLog ids are IDENTITY generated, so Hibernate cannot batch them; going through
+ * JdbcTemplate (with rewriteBatchedStatements on the MySQL URL) turns a batch into one
+ * multi-row INSERT.
+ * <p>
+ * Queue depth, written, failed and caller-thread entries and flush times are published as
+ * app.activity_log.* meters.
+ */
+@Service
+public class ActivityLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO activity_log "
+            + "(action_type, form_id, form_title, employee_id, employee_name, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${activity-log.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${activity-log.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${activity-log.writer.flush-interval:500ms}")
+    private Duration flushInterval;
+
+    @Value("${activity-log.writer.offer-timeout:50ms}")
+    private Duration offerTimeout;
+
+    @Value("${activity-log.writer.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${activity-log.writer.retry-backoff:200ms}")
+    private Duration retryBackoff;
+
+    @Value("${activity-log.writer.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    @Value("${activity-log.writer.shutdown-timeout:10s}")
+    private Duration shutdownTimeout;
+
+    private BlockingQueue<ActivityLog> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder callerWriteCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushNanosTotal = new LongAdder();
+    private final LongAccumulator flushNanosMax = new LongAccumulator(Math::max, 0);
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            flusher = new VirtualThreadTaskExecutor("activity-log-flusher-").getVirtualThreadFactory().newThread(this::runFlusher);
+        } else {
+            flusher = new Thread(this::runFlusher, "activity-log-flusher");
+            flusher.setDaemon(true);
+        }
+        flusher.start();
+        registerMetrics();
+        logger.info("Activity log writer started with queue={}, batch={}, interval={}", queueCapacity, batchSize, flushInterval);
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("app.activity_log.queue.depth", queue, BlockingQueue::size)
+                .description("Activity log entries waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.activity_log.entries", writtenCount, LongAdder::sum)
+                .description("Activity log entries by outcome")
+                .tag("outcome", "written")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.activity_log.entries", failedCount, LongAdder::sum)
+                .description("Activity log entries by outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.activity_log.caller_writes", callerWriteCount, LongAdder::sum)
+                .description("Activity log entries written on the request thread because the queue was full")
+                .register(meterRegistry);
+        FunctionTimer.builder("app.activity_log.flush", this,
+                        writer -> writer.flushCount.sum(), writer -> writer.flushNanosTotal.sum(), TimeUnit.NANOSECONDS)
+                .description("Activity log batch writes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an entry. If the queue stays full for offer-timeout, or the writer has been stopped, the
+     * entry is written on the calling thread instead, so a slow database throttles requests rather than
+     * losing entries. That write is attempted once, without retry sleeps; if it fails the entry is
+     * logged and counted as failed, because the caller's own change has already been committed.
+     */
+    public void write(ActivityLog activity) {
+        if (running) {
+            try {
+                if (queue.offer(activity, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                    // stop() may have drained the queue between the check and the offer; take the entry back then.
+                    if (running || !queue.remove(activity)) {
+                        return;
+                    }
+                } else {
+                    logger.warn("Activity log queue is full ({} entries); writing on the request thread", queueCapacity);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        callerWriteCount.increment();
+        insert(List.of(activity), true);
+    }
+
+    public Stats stats() {
+        long flushes = flushCount.sum();
+        return new Stats(
+                queue.size(),
+                queueCapacity,
+                writtenCount.sum(),
+                failedCount.sum(),
+                callerWriteCount.sum(),
+                flushes,
+                toMillis(lastFlushNanos.get()),
+                toMillis(flushNanosMax.get()),
+                flushes == 0 ? 0 : toMillis(flushNanosTotal.sum() / flushes)
+        );
+    }
+
+    /**
+     * Stops the flusher and, when flush-on-shutdown is set, writes whatever is still queued
+     * before the datasource goes away.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(shutdownTimeout.toMillis());
+        if (flusher.isAlive()) {
+            logger.warn("Activity log flusher did not finish within {}", shutdownTimeout);
+        }
+        if (!flushOnShutdown) {
+            if (!queue.isEmpty()) {
+                logger.warn("Discarding {} queued activity log entries on shutdown", queue.size());
+            }
+            return;
+        }
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            insert(batch, false);
+            batch.clear();
+        }
+        logger.info("Activity log writer stopped; {} entries written, {} failed", writtenCount.sum(), failedCount.sum());
+    }
+
+    private void runFlusher() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        long intervalNanos = flushInterval.toNanos();
+        while (running) {
+            try {
+                ActivityLog first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize && running) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    ActivityLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                insert(batch, false);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch, retrying it up to max-attempts times. A batch that keeps failing is then written
+     * row by row, so only the entries the database rejects on their own are dropped (and counted as failed).
+     * @param callerThread the write runs on a request thread: one attempt and no backoff sleeps
+     */
+    private void insert(List<ActivityLog> batch, boolean callerThread) {
+        long start = System.nanoTime();
+        int attempts = callerThread ? 1 : maxAttempts;
+        try {
+            DataAccessException failure = null;
+            for (int attempt = 1; attempt <= attempts; attempt++) {
+                try {
+                    insertBatch(batch);
+                    writtenCount.add(batch.size());
+                    return;
+                } catch (DataAccessException e) {
+                    failure = e;
+                    logger.warn("Writing {} activity log entries failed (attempt {} of {}): {}",
+                            batch.size(), attempt, attempts, e.getMessage());
+                }
+                if (attempt < attempts && !backOff(attempt)) {
+                    break;
+                }
+            }
+            if (batch.size() == 1) {
+                failedCount.increment();
+                logActivityFailure(batch.get(0), failure);
+                return;
+            }
+            for (ActivityLog activity : batch) {
+                try {
+                    insertBatch(List.of(activity));
+                    writtenCount.increment();
+                } catch (DataAccessException e) {
+                    failedCount.increment();
+                    logActivityFailure(activity, e);
+                }
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushCount.increment();
+            flushNanosTotal.add(elapsed);
+            flushNanosMax.accumulate(elapsed);
+            lastFlushNanos.set(elapsed);
+        }
+    }
+
+    private void logActivityFailure(ActivityLog activity, DataAccessException e) {
+        logger.error("Failed to write {} activity log entry for form ID {} by employee ID {}: {}",
+                activity.getActionType(), activity.getFormId(), activity.getEmployeeId(), e.getMessage(), e);
+    }
+
+    /**
+     * @return false when interrupted, in which case no further attempt should wait
+     */
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoff.toMillis() * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void insertBatch(List<ActivityLog> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, activity) -> {
+            ps.setString(1, activity.getActionType());
+            if (activity.getFormId() != null) {
+                ps.setLong(2, activity.getFormId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, activity.getFormTitle());
+            ps.setString(4, activity.getEmployeeId());
+            ps.setString(5, activity.getEmployeeName());
+            ps.setTimestamp(6, Timestamp.from(activity.getTimestamp().toInstant()));
+        });
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public record Stats(int queueDepth, int queueCapacity, long writtenCount, long failedCount, long callerWriteCount,
+                        long flushCount, double lastFlushMillis, double maxFlushMillis, double averageFlushMillis) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.hpcl.demo.service;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader, the counterpart of {@link CsvTabularWriter}. Accepts CRLF or LF
+ * line endings and skips a leading UTF-8 BOM.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private final Reader reader;
+    private int pushedBack = -2;
+    private boolean started;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * @return the cells of the next record, or null at end of input
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean cellWasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted cell");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == '"' && cell.length() == 0 && !cellWasQuoted) {
+                quoted = true;
+                cellWasQuoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+                cellWasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                cells.add(cell.toString());
+                return cells;
+            } else {
+                cell.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
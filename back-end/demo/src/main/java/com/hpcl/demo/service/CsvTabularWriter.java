@@ -0,0 +1,52 @@
+package com.hpcl.demo.service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV. Cells that a spreadsheet would evaluate as a formula are prefixed with a quote.
+ */
+public class CsvTabularWriter implements TabularWriter {
+
+    private final Writer writer;
+
+    public CsvTabularWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM so Excel opens the file as UTF-8
+        writer.write('\uFEFF');
+    }
+
+    @Override
+    public void writeRow(List<String> cells) throws IOException {
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCell(cells.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCell(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
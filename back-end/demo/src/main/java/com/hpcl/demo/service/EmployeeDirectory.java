@@ -0,0 +1,104 @@
+package com.hpcl.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hpcl.demo.entity.Employee;
+import com.hpcl.demo.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of employee display names. Lookups are done in bulk so rendering a list of
+ * responses costs at most one findAllById for the ids that are not cached yet, instead of one
+ * query per response.
+ */
+@Service
+public class EmployeeDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeDirectory.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final Cache<String, String> names;
+    private final boolean warmOnStartup;
+
+    public EmployeeDirectory(EmployeeRepository employeeRepository,
+                             @Value("${employee-directory.maximum-size:50000}") long maximumSize,
+                             @Value("${employee-directory.expire-after-write:10m}") Duration expireAfterWrite,
+                             @Value("${employee-directory.warm-on-startup:true}") boolean warmOnStartup) {
+        this.employeeRepository = employeeRepository;
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.warmOnStartup = warmOnStartup;
+    }
+
+    /**
+     * Names for the given employee ids. Ids that do not belong to an employee are left out of
+     * the returned map.
+     */
+    public Map<String, String> resolveNames(Collection<String> employeeIds) {
+        Set<String> ids = employeeIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return names.getAll(ids, missing -> {
+            Map<String, String> loaded = new HashMap<>();
+            for (Employee employee : employeeRepository.findAllById(new ArrayList<>(missing))) {
+                loaded.put(employee.getEmployeeId(), employee.getEmployeeName());
+            }
+            return loaded;
+        });
+    }
+
+    public String resolveName(String employeeId, String defaultName) {
+        if (employeeId == null) {
+            return defaultName;
+        }
+        return resolveNames(List.of(employeeId)).getOrDefault(employeeId, defaultName);
+    }
+
+    /**
+     * The ids from the argument that do not belong to any employee.
+     */
+    public Set<String> findUnknown(Collection<String> employeeIds) {
+        Map<String, String> known = resolveNames(employeeIds);
+        Set<String> unknown = new LinkedHashSet<>();
+        for (String employeeId : employeeIds) {
+            if (employeeId == null || !known.containsKey(employeeId)) {
+                unknown.add(employeeId);
+            }
+        }
+        return unknown;
+    }
+
+    public void invalidate(String employeeId) {
+        names.invalidate(employeeId);
+    }
+
+    public void invalidateAll() {
+        names.invalidateAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (!warmOnStartup) {
+            return;
+        }
+        try {
+            List<Employee> employees = employeeRepository.findAll();
+            employees.forEach(employee -> names.put(employee.getEmployeeId(), employee.getEmployeeName()));
+            logger.info("Employee directory warmed with {} employee(s)", employees.size());
+        } catch (Exception e) {
+            logger.error("Employee directory warm-up failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.Employee;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops an employee's cached name from the EmployeeDirectory when the row changes through JPA.
+ */
+@Component
+public class EmployeeDirectoryListener {
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onEmployeeChanged(Employee employee) {
+        employeeDirectory.invalidate(employee.getEmployeeId());
+    }
+}
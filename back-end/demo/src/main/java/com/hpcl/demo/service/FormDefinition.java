@@ -0,0 +1,204 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.Field;
+import com.hpcl.demo.entity.FormContent;
+
+import java.util.*;
+
+/**
+ * Immutable, parsed view of a form's content. Instances are shared between requests through
+ * {@link FormDefinitionCache}, so per-viewer data must go on the copy returned by {@link #toFormContent()}.
+ * The {@link Field} objects are shared as they are, which is safe because Field is immutable; every
+ * collection handed out is unmodifiable or a copy.
+ * <p>
+ * The access rules are compiled up front: fields are numbered in form order, every level gets a
+ * {@link BitSet} of its fields and every assignee a {@link BitSet} of the fields on any of their levels
+ * plus the rank of their highest-priority level, so access checks are a map lookup and a bit test.
+ */
+public final class FormDefinition {
+
+    private final Long formId;
+    private final List<Field> fields;
+    private final Map<Integer, List<String>> levelAssignments;
+    private final List<Integer> levelPriorityOrder;
+    private final Map<String, String> fieldIdToQuestion;
+    private final Map<Integer, Set<String>> fieldIdsByLevel;
+    private final Map<String, Integer> fieldIndexes;
+    private final Map<Integer, BitSet> fieldBitsByLevel;
+    private final Map<Integer, Integer> levelRanks;
+    private final Map<String, EmployeeAccess> accessByEmployee;
+    private final List<Set<String>> fieldIdsUpToRank;
+
+    /**
+     * What one assignee may see: {@code levels} in priority order (unranked levels last) and the
+     * rank of the first of them, or {@link Integer#MAX_VALUE} when none is in the priority order.
+     */
+    private record EmployeeAccess(BitSet fieldBits, List<Integer> levels, int highestPriorityRank) {
+    }
+
+    public FormDefinition(Long formId, FormContent content) {
+        this.formId = formId;
+        this.fields = List.copyOf(content.getFields());
+
+        Map<Integer, List<String>> assignments = new HashMap<>();
+        content.getLevelAssignments().forEach((level, employeeIds) ->
+                assignments.put(level, employeeIds != null ? List.copyOf(employeeIds) : List.of()));
+        this.levelAssignments = Collections.unmodifiableMap(assignments);
+        this.levelPriorityOrder = List.copyOf(content.getLevelPriorityOrder());
+
+        Map<String, String> questions = new HashMap<>();
+        for (Field field : fields) {
+            if (field.getId() != null && field.getQuestion() != null) {
+                questions.putIfAbsent(field.getId(), field.getQuestion());
+            }
+        }
+        this.fieldIdToQuestion = Collections.unmodifiableMap(questions);
+
+        Map<Integer, Set<String>> byLevel = new HashMap<>();
+        for (Field field : fields) {
+            for (Integer level : field.getLevelNumbers()) {
+                byLevel.computeIfAbsent(level, k -> new HashSet<>()).add(field.getId());
+            }
+        }
+        byLevel.replaceAll((level, ids) -> Collections.unmodifiableSet(ids));
+        this.fieldIdsByLevel = Collections.unmodifiableMap(byLevel);
+
+        Map<String, Integer> indexes = new HashMap<>();
+        Map<Integer, BitSet> bitsByLevel = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            indexes.putIfAbsent(field.getId(), i);
+            for (Integer level : field.getLevelNumbers()) {
+                bitsByLevel.computeIfAbsent(level, k -> new BitSet(fields.size())).set(i);
+            }
+        }
+        this.fieldIndexes = indexes;
+        this.fieldBitsByLevel = bitsByLevel;
+
+        Map<Integer, Integer> ranks = new HashMap<>();
+        for (int rank = 0; rank < levelPriorityOrder.size(); rank++) {
+            ranks.putIfAbsent(levelPriorityOrder.get(rank), rank);
+        }
+        this.levelRanks = ranks;
+
+        // Fields on the levels of rank 0..i, for the higher-priority responses shown to an assignee.
+        List<Set<String>> upToRank = new ArrayList<>(levelPriorityOrder.size());
+        BitSet cumulative = new BitSet(fields.size());
+        for (Integer level : levelPriorityOrder) {
+            cumulative.or(bitsByLevel.getOrDefault(level, new BitSet()));
+            upToRank.add(Collections.unmodifiableSet(fieldIds(cumulative, new HashSet<>())));
+        }
+        this.fieldIdsUpToRank = upToRank;
+
+        Map<String, List<Integer>> levelsByEmployee = new HashMap<>();
+        levelAssignments.forEach((level, employeeIds) -> {
+            for (String employeeId : new HashSet<>(employeeIds)) {
+                levelsByEmployee.computeIfAbsent(employeeId, k -> new ArrayList<>()).add(level);
+            }
+        });
+        Map<String, EmployeeAccess> access = new HashMap<>();
+        levelsByEmployee.forEach((employeeId, levels) -> {
+            levels.sort(Comparator.comparingInt((Integer level) -> ranks.getOrDefault(level, Integer.MAX_VALUE))
+                    .thenComparing(Comparator.naturalOrder()));
+            BitSet bits = new BitSet(fields.size());
+            levels.forEach(level -> bits.or(bitsByLevel.getOrDefault(level, new BitSet())));
+            access.put(employeeId, new EmployeeAccess(bits, List.copyOf(levels), ranks.getOrDefault(levels.get(0), Integer.MAX_VALUE)));
+        });
+        this.accessByEmployee = access;
+    }
+
+    public Long getFormId() {
+        return formId;
+    }
+
+    /**
+     * @return the fields in form order, as an unmodifiable list of immutable fields
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public Map<Integer, List<String>> getLevelAssignments() {
+        return levelAssignments;
+    }
+
+    public List<Integer> getLevelPriorityOrder() {
+        return levelPriorityOrder;
+    }
+
+    public Map<String, String> getFieldIdToQuestion() {
+        return fieldIdToQuestion;
+    }
+
+    public Set<String> getFieldIdsForLevel(Integer level) {
+        return fieldIdsByLevel.getOrDefault(level, Collections.emptySet());
+    }
+
+    /**
+     * Ids of the fields that sit on at least one level the employee is assigned to, in form order.
+     */
+    public List<String> getAccessibleFieldIds(String employeeId) {
+        EmployeeAccess access = accessByEmployee.get(employeeId);
+        return access != null ? fieldIds(access.fieldBits(), new ArrayList<>()) : new ArrayList<>();
+    }
+
+    public boolean canAccessField(String employeeId, String fieldId) {
+        EmployeeAccess access = accessByEmployee.get(employeeId);
+        Integer index = fieldIndexes.get(fieldId);
+        return access != null && index != null && access.fieldBits().get(index);
+    }
+
+    public boolean isAssigned(String employeeId) {
+        return accessByEmployee.containsKey(employeeId);
+    }
+
+    /**
+     * Levels the employee is assigned to, highest priority first.
+     */
+    public List<Integer> getEmployeeLevels(String employeeId) {
+        EmployeeAccess access = accessByEmployee.get(employeeId);
+        return access != null ? access.levels() : List.of();
+    }
+
+    /**
+     * Position in the level priority order of the employee's highest-priority level, or
+     * {@link Integer#MAX_VALUE} when the employee has no level in that order.
+     */
+    public int getHighestPriorityRank(String employeeId) {
+        EmployeeAccess access = accessByEmployee.get(employeeId);
+        return access != null ? access.highestPriorityRank() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Ids of the fields on the levels ranked 0 to {@code rank} in the priority order; {@code rank}
+     * is capped at the last level.
+     */
+    public Set<String> getFieldIdsUpToRank(int rank) {
+        if (fieldIdsUpToRank.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return fieldIdsUpToRank.get(Math.min(rank, fieldIdsUpToRank.size() - 1));
+    }
+
+    private <C extends Collection<String>> C fieldIds(BitSet bits, C target) {
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            target.add(fields.get(i).getId());
+        }
+        return target;
+    }
+
+    /**
+     * Returns a fresh, mutable {@link FormContent} carrying this definition, ready to be decorated
+     * with viewer-specific properties and serialized. Its lists and map are copies; the fields in it
+     * are the shared, immutable ones.
+     */
+    public FormContent toFormContent() {
+        FormContent content = new FormContent();
+        content.setFields(new ArrayList<>(fields));
+        Map<Integer, List<String>> assignments = new HashMap<>();
+        levelAssignments.forEach((level, employeeIds) -> assignments.put(level, new ArrayList<>(employeeIds)));
+        content.setLevelAssignments(assignments);
+        content.setLevelPriorityOrder(new ArrayList<>(levelPriorityOrder));
+        return content;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hpcl.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.hpcl.demo.config.ServerTiming;
+import com.hpcl.demo.entity.Form;
+import com.hpcl.demo.entity.FormContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of parsed {@link FormDefinition}s. Entries are keyed by form id and the form's
+ * updated_at, so a definition is never served for a newer version of the form; superseded
+ * entries simply age out.
+ */
+@Service
+public class FormDefinitionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormDefinitionCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, FormDefinition> cache;
+    private final Timer parseTimer;
+
+    public FormDefinitionCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${form.definition-cache.maximum-size:1000}") long maximumSize,
+                               @Value("${form.definition-cache.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "form_definitions");
+        this.parseTimer = Timer.builder("app.json.parse")
+                .tag("type", "form_content")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        logger.info("Form definition cache configured with maximumSize={}, expireAfterAccess={}", maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * Returns the parsed definition of the given form, parsing and caching it on a miss.
+     * @throws IllegalArgumentException if the stored form content cannot be parsed
+     */
+    public FormDefinition get(Form form) {
+        Instant version = form.getUpdatedAt() != null ? form.getUpdatedAt().toInstant() : null;
+        return cache.get(new Key(form.getId(), version), key -> parse(form));
+    }
+
+    public void invalidate(Long formId) {
+        cache.asMap().keySet().removeIf(key -> key.formId().equals(formId));
+        logger.debug("Invalidated cached definitions for form ID {}", formId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private FormDefinition parse(Form form) {
+        try {
+            try (ServerTiming.Phase ignored = ServerTiming.phase("form-parse")) {
+                Timer.Sample sample = Timer.start();
+                FormContent content = objectMapper.readValue(form.getFormContent(), FormContent.class);
+                sample.stop(parseTimer);
+                return new FormDefinition(form.getId(), content);
+            }
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unable to parse form content for form ID " + form.getId(), e);
+        }
+    }
+
+    private record Key(Long formId, Instant version) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.hpcl.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the derived tables up to date for data written before they were maintained.
+ */
+@Component
+public class FormIndexBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormIndexBackfill.class);
+
+    @Autowired
+    private FormService formService;
+
+    @Value("${responses.storage.migration-batch-size:500}")
+    private int migrationBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int merged = formService.mergeDuplicateRecords();
+            boolean added = formService.ensureRecordKey();
+            logger.info("Record key migration complete, {} duplicate record(s) merged{}", merged, added ? ", unique key added" : "");
+        } catch (Exception e) {
+            // A record inserted twice since the merge leaves the key missing; the next start merges it.
+            logger.error("Record key migration failed: {}", e.getMessage(), e);
+        }
+        try {
+            int indexed = formService.backfillAssignmentIndex();
+            logger.info("Assignment index backfill complete, {} form(s) indexed", indexed);
+        } catch (Exception e) {
+            logger.error("Assignment index backfill failed: {}", e.getMessage(), e);
+        }
+        try {
+            int rebuilt = formService.backfillCompletionState();
+            logger.info("Level completion backfill complete, {} form(s) rebuilt", rebuilt);
+        } catch (Exception e) {
+            logger.error("Level completion backfill failed: {}", e.getMessage(), e);
+        }
+        try {
+            int forms = formService.backfillFormStats();
+            logger.info("Form stats backfill complete, {} form(s) counted", forms);
+        } catch (Exception e) {
+            logger.error("Form stats backfill failed: {}", e.getMessage(), e);
+        }
+        try {
+            int batches = formService.migrateResponseFields(migrationBatchSize);
+            logger.info("Response field migration complete, {} batch(es) copied", batches);
+        } catch (Exception e) {
+            logger.error("Response field migration failed: {}", e.getMessage(), e);
+        }
+    }
+}
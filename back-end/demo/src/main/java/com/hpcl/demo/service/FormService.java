@@ -1,14 +1,25 @@
 package com.hpcl.demo.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hpcl.demo.entity.*;
 import com.hpcl.demo.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.*;
+
 @Service
 public class FormService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FormService.class);
+
     @Autowired
     private FormRepository formRepository;
 
@@ -27,9 +38,33 @@ public class FormService {
     @Autowired
     private ResponseRepository responseRepository;
 
+    @Autowired
+    private FormStatsRepository formStatsRepository;
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LevelCompletionTracker levelCompletionTracker;
+
+    @Autowired
+    private FormStatsTracker formStatsTracker;
+
+    @Autowired
+    private ResponseFieldStore responseFieldStore;
+
+    @Autowired
+    private ResponseReader responseReader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int jdbcBatchSize;
+
     @Transactional
     public Form createForm(Form form) {
         return formRepository.save(form);
@@ -44,6 +79,187 @@ public class FormService {
         return formRepository.save(form);
     }
 
+    /**
+     * Saves a form together with its form_employee_level rows so the assignment index never
+     * disagrees with the levelAssignments stored in the form content.
+     */
+    @Transactional
+    public Form saveFormWithAssignments(Form form, Map<Integer, List<String>> levelAssignments) {
+        form.setAssignmentsIndexed(true);
+        Form saved = formRepository.save(form);
+        replaceAssignmentIndex(saved.getId(), levelAssignments);
+        return saved;
+    }
+
+    /**
+     * Removes a form along with its responses and assignment index rows. Activity logs are kept.
+     */
+    @Transactional
+    public void deleteForm(Form form) {
+        responseRepository.deleteByFormId(form.getId());
+        formEmployeeLevelRepository.deleteByFormId(form.getId());
+        levelCompletionTracker.clear(form.getId());
+        formStatsTracker.clear(form.getId());
+        responseFieldStore.removeForm(form.getId());
+        formRepository.delete(form);
+    }
+
+    /**
+     * Builds form_employee_level rows for forms created before the index was maintained. Each form is
+     * examined once.
+     * @return the number of forms that were indexed
+     */
+    @Transactional
+    public int backfillAssignmentIndex() {
+        int indexed = 0;
+        List<Long> examined = new ArrayList<>();
+        for (Form form : formRepository.findWithoutAssignmentIndex()) {
+            Map<Integer, List<String>> levelAssignments = readLevelAssignments(form);
+            if (!levelAssignments.isEmpty()) {
+                replaceAssignmentIndex(form.getId(), levelAssignments);
+                indexed++;
+            }
+            examined.add(form.getId());
+        }
+        // Forms without assignments are marked too, so they are not loaded again on the next start.
+        if (!examined.isEmpty()) {
+            formRepository.markAssignmentsIndexed(examined);
+        }
+        return indexed;
+    }
+
+    /**
+     * Rebuilds the level completion counts of forms whose responses predate the tracker.
+     * @return the number of forms that were rebuilt
+     */
+    @Transactional
+    public int backfillCompletionState() {
+        List<Long> formIds = responseRepository.findFormIdsWithoutCompletionState();
+        for (Long formId : formIds) {
+            List<List<FieldResponse>> parsed = new ArrayList<>();
+            for (Response response : responseRepository.findByFormId(formId)) {
+                parsed.add(responseReader.parse(response));
+            }
+            levelCompletionTracker.rebuild(formId, parsed);
+        }
+        return formIds.size();
+    }
+
+    /**
+     * Builds form_stats from the responses when the table is still empty, i.e. on the first start with it.
+     * @return the number of forms that got stats
+     */
+    @Transactional
+    public int backfillFormStats() {
+        if (formStatsRepository.count() > 0 || responseRepository.count() == 0) {
+            return 0;
+        }
+        return formStatsTracker.rebuild();
+    }
+
+    /**
+     * Merges records stored in more than one row, which were possible before the merge key was unique on
+     * (form_id, record_id). The oldest row is kept and the answers of the later rows are merged into it
+     * in id order, as if they had been submitted to it; the later rows are deleted.
+     * @return the number of records merged
+     */
+    @Transactional
+    public int mergeDuplicateRecords() {
+        int merged = 0;
+        for (ResponseRepository.RecordKey key : responseRepository.findDuplicateRecordKeys()) {
+            List<Response> rows = new ArrayList<>(responseRepository.findByFormIdAndRecordId(key.getFormId(), key.getRecordId()));
+            rows.sort(Comparator.comparing(Response::getId));
+            Response kept = rows.get(0);
+            List<Response> later = rows.subList(1, rows.size());
+            List<FieldResponse> keptFields = responseReader.parse(kept);
+            List<List<FieldResponse>> laterFields = new ArrayList<>();
+            List<FieldResponse> upserted = new ArrayList<>();
+            for (Response row : later) {
+                laterFields.add(responseReader.parse(row));
+                upserted = ResponseMerger.merge(upserted, laterFields.get(laterFields.size() - 1));
+                if (row.getUpdatedAt() != null && (kept.getUpdatedAt() == null || row.getUpdatedAt().isAfter(kept.getUpdatedAt()))) {
+                    kept.setUpdatedAt(row.getUpdatedAt());
+                }
+            }
+            try {
+                kept.setResponses(objectMapper.writeValueAsString(ResponseMerger.merge(keptFields, upserted)));
+            } catch (Exception e) {
+                logger.error("Error merging duplicate rows of record {} of form ID {}: {}", key.getRecordId(), key.getFormId(), e.getMessage());
+                continue;
+            }
+            for (int i = 0; i < later.size(); i++) {
+                deleteResponse(later.get(i), laterFields.get(i).stream().map(FieldResponse::getFieldId).filter(Objects::nonNull).toList());
+            }
+            Set<String> previousFieldIds = new HashSet<>();
+            keptFields.forEach(field -> previousFieldIds.add(field.getFieldId()));
+            saveResponse(kept, previousFieldIds, upserted, Collections.emptyList());
+            merged++;
+        }
+        return merged;
+    }
+
+    /**
+     * Adds the unique merge key to an existing responses table. The schema update cannot add it while
+     * duplicate records exist, so this runs after {@link #mergeDuplicateRecords()}; it also drops the
+     * indexes the key replaces.
+     * @return true when the key was added
+     */
+    public boolean ensureRecordKey() {
+        boolean added = false;
+        if (!responsesIndexExists(Response.RECORD_KEY)) {
+            jdbcTemplate.execute("ALTER TABLE responses ADD CONSTRAINT " + Response.RECORD_KEY + " UNIQUE (form_id, record_id)");
+            added = true;
+        }
+        for (String replaced : List.of("uk_responses_form_record_employee", "idx_responses_form_record")) {
+            if (responsesIndexExists(replaced)) {
+                jdbcTemplate.execute("ALTER TABLE responses DROP INDEX " + replaced);
+            }
+        }
+        return added;
+    }
+
+    private boolean responsesIndexExists(String indexName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'responses' AND index_name = ?",
+                Integer.class, indexName);
+        return count != null && count > 0;
+    }
+
+    private void replaceAssignmentIndex(Long formId, Map<Integer, List<String>> levelAssignments) {
+        formEmployeeLevelRepository.deleteByFormId(formId);
+        List<FormEmployeeLevel> rows = new ArrayList<>();
+        levelAssignments.forEach((levelNumber, employeeIds) -> {
+            if (levelNumber == null || employeeIds == null) {
+                return;
+            }
+            for (String employeeId : new LinkedHashSet<>(employeeIds)) {
+                FormEmployeeLevel row = new FormEmployeeLevel();
+                row.setFormId(formId);
+                row.setEmployeeId(employeeId);
+                row.setLevelNumber(levelNumber);
+                rows.add(row);
+            }
+        });
+        formEmployeeLevelRepository.saveAll(rows);
+    }
+
+    private Map<Integer, List<String>> readLevelAssignments(Form form) {
+        if (form.getFormContent() == null || form.getFormContent().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            JsonNode assignments = objectMapper.readTree(form.getFormContent()).path("levelAssignments");
+            if (!assignments.isObject()) {
+                return Collections.emptyMap();
+            }
+            return objectMapper.convertValue(assignments, new TypeReference<Map<Integer, List<String>>>() {});
+        } catch (Exception e) {
+            logger.error("Error reading level assignments for form ID {}: {}", form.getId(), e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
     @Transactional
     public FormLevel addFormLevel(FormLevel formLevel) {
         return formLevelRepository.save(formLevel);
@@ -64,8 +280,126 @@ public class FormService {
         return formReferenceRepository.save(reference);
     }
 
+    /**
+     * A response row to save and the change it carries, as passed to
+     * {@link #saveResponse(Response, Set, Collection, Collection)}.
+     */
+    public record ResponseChange(Response response, Set<String> previousFieldIds, List<FieldResponse> upsertedFields) {
+    }
+
     @Transactional
     public Response saveResponse(Response response) {
         return responseRepository.save(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves a response row whose blob already reflects the change, and applies the same change to the
+     * derived stores: {@code previousFieldIds} are the field ids the row had before, {@code upsertedFields}
+     * the fields that were set and {@code removedFieldIds} the fields that were dropped.
+     */
+    @Transactional
+    public Response saveResponse(Response response, Set<String> previousFieldIds,
+                                 Collection<FieldResponse> upsertedFields, Collection<String> removedFieldIds) {
+        boolean created = response.getId() == null;
+        Response saved = responseRepository.save(response);
+        List<String> addedFieldIds = upsertedFields.stream()
+                .map(FieldResponse::getFieldId)
+                .filter(fieldId -> !previousFieldIds.contains(fieldId))
+                .toList();
+        levelCompletionTracker.recordChanges(saved.getFormId(), addedFieldIds, removedFieldIds);
+        formStatsTracker.recordSaved(saved.getFormId(), created ? List.of(saved) : List.of(), created ? List.of() : List.of(saved));
+        responseFieldStore.upsert(saved, upsertedFields);
+        responseFieldStore.remove(saved.getId(), removedFieldIds);
+        return saved;
+    }
+
+    /**
+     * Saves several response rows of a form in one transaction. New rows and updates go out in JDBC
+     * batches, and completion counts are adjusted once per field.
+     */
+    @Transactional
+    public List<Response> saveResponses(Long formId, List<ResponseChange> changes) {
+        List<Boolean> created = changes.stream().map(change -> change.response().getId() == null).toList();
+        List<Response> saved = responseRepository.saveAll(changes.stream().map(ResponseChange::response).toList());
+        Map<String, Integer> answeredCounts = new HashMap<>();
+        Map<Response, List<FieldResponse>> upserted = new LinkedHashMap<>();
+        List<Response> createdRows = new ArrayList<>();
+        List<Response> updatedRows = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            ResponseChange change = changes.get(i);
+            change.upsertedFields().stream()
+                    .map(FieldResponse::getFieldId)
+                    .filter(fieldId -> !change.previousFieldIds().contains(fieldId))
+                    .distinct()
+                    .forEach(fieldId -> answeredCounts.merge(fieldId, 1, Integer::sum));
+            upserted.put(saved.get(i), change.upsertedFields());
+            (created.get(i) ? createdRows : updatedRows).add(saved.get(i));
+        }
+        levelCompletionTracker.recordAdded(formId, answeredCounts);
+        formStatsTracker.recordSaved(formId, createdRows, updatedRows);
+        responseFieldStore.upsertAll(upserted, jdbcBatchSize);
+        return saved;
+    }
+
+    /**
+     * Inserts a chunk of new response rows, mapped to the field responses serialized in each blob.
+     * Response ids come from a pooled sequence, so the rows go out in Hibernate JDBC batches; the
+     * completion counts are applied once per field for the whole chunk.
+     */
+    @Transactional
+    public void importResponses(Long formId, Map<Response, List<FieldResponse>> responses) {
+        responseRepository.saveAll(responses.keySet());
+        Map<String, Integer> answeredCounts = new HashMap<>();
+        responses.values().forEach(fields -> fields.forEach(field -> answeredCounts.merge(field.getFieldId(), 1, Integer::sum)));
+        levelCompletionTracker.recordAdded(formId, answeredCounts);
+        formStatsTracker.recordSaved(formId, responses.keySet(), List.of());
+        responseFieldStore.upsertAll(responses, jdbcBatchSize);
+    }
+
+    @Transactional
+    public void deleteResponse(Response response, Collection<String> removedFieldIds) {
+        responseRepository.delete(response);
+        levelCompletionTracker.recordChanges(response.getFormId(), Collections.emptyList(), removedFieldIds);
+        formStatsTracker.recordDeleted(response.getFormId(), List.of(response));
+        responseFieldStore.removeResponse(response.getId());
+    }
+
+    /**
+     * Deletes every response row of a record. The rows are read again in this transaction so the
+     * completion and form_stats decrements match what is deleted, and each row is deleted by id under
+     * its version check; a concurrent change fails with ObjectOptimisticLockingFailureException.
+     * @return the deleted rows, empty when the record has none
+     */
+    @Transactional
+    public List<Response> deleteRecord(Long formId, String recordId) {
+        List<Response> responses = responseRepository.findByFormIdAndRecordId(formId, recordId);
+        for (Response response : responses) {
+            List<String> fieldIds = responseReader.parse(response).stream()
+                    .map(FieldResponse::getFieldId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            levelCompletionTracker.recordChanges(formId, Collections.emptyList(), fieldIds);
+        }
+        formStatsTracker.recordDeleted(formId, responses);
+        responseRepository.deleteAll(responses);
+        responses.forEach(response -> responseFieldStore.removeResponse(response.getId()));
+        return responses;
+    }
+
+    /**
+     * Copies existing response blobs into response_field when dual writes are enabled.
+     * Each batch commits on its own so a large migration does not hold one long transaction.
+     * @return the number of batches copied
+     */
+    public int migrateResponseFields(int batchSize) {
+        if (!responseFieldStore.isWriteEnabled()) {
+            return 0;
+        }
+        int batches = 0;
+        Long afterId = 0L;
+        while ((afterId = responseFieldStore.migrateBatch(afterId, batchSize, responseReader::parse)) != null) {
+            batches++;
+        }
+        return batches;
+    }
+}
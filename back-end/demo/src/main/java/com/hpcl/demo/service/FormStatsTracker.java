@@ -0,0 +1,119 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.Response;
+import com.hpcl.demo.repository.FormEmployeeStatsRepository;
+import com.hpcl.demo.repository.FormStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Keeps form_stats and form_employee_stats in step with the stored responses so the owner dashboard
+ * can show counts without reading any response. Called from the same transactions that write the
+ * responses. Deletes lower the counts but leave the last submission times as they were; {@link #rebuild}
+ * recomputes everything from the responses table.
+ */
+@Service
+public class FormStatsTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormStatsTracker.class);
+
+    @Autowired
+    private FormStatsRepository formStatsRepository;
+
+    @Autowired
+    private FormEmployeeStatsRepository formEmployeeStatsRepository;
+
+    /**
+     * Counts the new rows in {@code created} and moves the last submission times forward for the rows
+     * in both collections. Per-employee counters belong to the employee who created the row.
+     */
+    @Transactional
+    public void recordSaved(Long formId, Collection<Response> created, Collection<Response> updated) {
+        Map<String, Long> createdByEmployee = new HashMap<>();
+        Map<String, ZonedDateTime> lastTimeByEmployee = new HashMap<>();
+        ZonedDateTime lastTime = null;
+        for (Response response : created) {
+            if (response.getEmployeeId() != null) {
+                createdByEmployee.merge(response.getEmployeeId(), 1L, Long::sum);
+            }
+        }
+        for (Collection<Response> responses : List.of(created, updated)) {
+            for (Response response : responses) {
+                ZonedDateTime savedAt = response.getUpdatedAt() != null ? response.getUpdatedAt() : response.getTime();
+                if (savedAt == null) {
+                    continue;
+                }
+                lastTime = later(lastTime, savedAt);
+                if (response.getEmployeeId() != null) {
+                    lastTimeByEmployee.merge(response.getEmployeeId(), savedAt, FormStatsTracker::later);
+                }
+            }
+        }
+
+        if (lastTime != null) {
+            formStatsRepository.recordSubmission(formId, created.size(), lastTime);
+        } else if (!created.isEmpty()) {
+            formStatsRepository.adjustResponseCount(formId, created.size());
+        }
+        Set<String> employeeIds = new HashSet<>(createdByEmployee.keySet());
+        employeeIds.addAll(lastTimeByEmployee.keySet());
+        for (String employeeId : employeeIds) {
+            long delta = createdByEmployee.getOrDefault(employeeId, 0L);
+            ZonedDateTime time = lastTimeByEmployee.get(employeeId);
+            if (time != null) {
+                formEmployeeStatsRepository.recordSubmission(formId, employeeId, delta, time);
+            } else {
+                formEmployeeStatsRepository.adjustResponseCount(formId, employeeId, delta);
+            }
+        }
+    }
+
+    /**
+     * Subtracts response rows that were deleted from a form.
+     */
+    @Transactional
+    public void recordDeleted(Long formId, Collection<Response> deleted) {
+        if (deleted.isEmpty()) {
+            return;
+        }
+        formStatsRepository.adjustResponseCount(formId, -deleted.size());
+        Map<String, Long> deletedByEmployee = new HashMap<>();
+        for (Response response : deleted) {
+            if (response.getEmployeeId() != null) {
+                deletedByEmployee.merge(response.getEmployeeId(), 1L, Long::sum);
+            }
+        }
+        deletedByEmployee.forEach((employeeId, count) ->
+                formEmployeeStatsRepository.adjustResponseCount(formId, employeeId, -count));
+    }
+
+    @Transactional
+    public void clear(Long formId) {
+        formStatsRepository.deleteByFormId(formId);
+        formEmployeeStatsRepository.deleteByFormId(formId);
+    }
+
+    /**
+     * Recomputes all counters from the responses table, repairing any drift.
+     * @return the number of forms that have responses
+     */
+    @Transactional
+    public int rebuild() {
+        formStatsRepository.deleteAllRows();
+        formEmployeeStatsRepository.deleteAllRows();
+        int forms = formStatsRepository.insertFromResponses();
+        int employees = formEmployeeStatsRepository.insertFromResponses();
+        logger.info("Form stats rebuilt for {} form(s) and {} form employee(s)", forms, employees);
+        return forms;
+    }
+
+    private static ZonedDateTime later(ZonedDateTime a, ZonedDateTime b) {
+        return a == null || b.isAfter(a) ? b : a;
+    }
+}
@@ -0,0 +1,112 @@
+package com.hpcl.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hpcl.demo.entity.IdempotencyRecord;
+import com.hpcl.demo.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcomes of requests sent with an Idempotency-Key header. Recent outcomes are answered from
+ * memory; the idempotency_key table keeps them for the full TTL and across restarts and nodes.
+ * Expired rows are purged on write at most once per idempotency.purge-interval.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public record Outcome(String requestHash, int statusCode, String body, ZonedDateTime expiresAt) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final long purgeIntervalNanos;
+    private final Cache<String, Outcome> cache;
+    private final AtomicLong nextPurge = new AtomicLong(System.nanoTime());
+
+    public IdempotencyStore(IdempotencyRecordRepository repository,
+                            @Value("${idempotency.ttl:24h}") Duration ttl,
+                            @Value("${idempotency.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${idempotency.purge-interval:10m}") Duration purgeInterval) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.purgeIntervalNanos = purgeInterval.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Digest of the parts that make a key unique, e.g. endpoint, employee and the header value.
+     */
+    public static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                // Length prefix keeps ("ab", "c") and ("a", "bc") apart.
+                digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Optional<Outcome> find(String scopeHash) {
+        ZonedDateTime now = ZonedDateTime.now();
+        Outcome outcome = cache.getIfPresent(scopeHash);
+        if (outcome == null) {
+            outcome = repository.findById(scopeHash)
+                    .map(row -> new Outcome(row.getRequestHash(), row.getStatusCode(), row.getResponseBody(), row.getExpiresAt()))
+                    .orElse(null);
+            if (outcome != null && outcome.expiresAt().isAfter(now)) {
+                cache.put(scopeHash, outcome);
+            }
+        }
+        return outcome != null && outcome.expiresAt().isAfter(now) ? Optional.of(outcome) : Optional.empty();
+    }
+
+    public void save(String scopeHash, String employeeId, String requestHash, int statusCode, String body) {
+        ZonedDateTime now = ZonedDateTime.now();
+        IdempotencyRecord row = new IdempotencyRecord();
+        row.setScopeHash(scopeHash);
+        row.setEmployeeId(employeeId);
+        row.setRequestHash(requestHash);
+        row.setStatusCode(statusCode);
+        row.setResponseBody(body);
+        row.setCreatedAt(now);
+        row.setExpiresAt(now.plus(ttl));
+        repository.save(row);
+        cache.put(scopeHash, new Outcome(requestHash, statusCode, body, row.getExpiresAt()));
+        purgeIfDue();
+    }
+
+    private void purgeIfDue() {
+        long due = nextPurge.get();
+        if (System.nanoTime() - due < 0 || !nextPurge.compareAndSet(due, System.nanoTime() + purgeIntervalNanos)) {
+            return;
+        }
+        try {
+            int purged = repository.deleteExpired(ZonedDateTime.now());
+            logger.debug("Purged {} expired idempotency key(s)", purged);
+        } catch (Exception e) {
+            logger.error("Purging expired idempotency keys failed: {}", e.getMessage(), e);
+        }
+    }
+}
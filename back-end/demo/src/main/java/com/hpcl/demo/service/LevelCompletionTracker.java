@@ -0,0 +1,104 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.FormFieldCompletion;
+import com.hpcl.demo.repository.FormFieldCompletionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Keeps form_field_completion in step with the stored responses so the multi-level gate in
+ * getFormById can be answered without reading any response JSON.
+ */
+@Service
+public class LevelCompletionTracker {
+
+    @Autowired
+    private FormFieldCompletionRepository formFieldCompletionRepository;
+
+    /**
+     * Applies the field ids that a single response row gained and lost.
+     */
+    @Transactional
+    public void recordChanges(Long formId, Collection<String> addedFieldIds, Collection<String> removedFieldIds) {
+        for (String fieldId : new HashSet<>(addedFieldIds)) {
+            if (fieldId != null) {
+                formFieldCompletionRepository.adjustAnsweredCount(formId, fieldId, 1);
+            }
+        }
+        for (String fieldId : new HashSet<>(removedFieldIds)) {
+            if (fieldId != null) {
+                formFieldCompletionRepository.adjustAnsweredCount(formId, fieldId, -1);
+            }
+        }
+    }
+
+    /**
+     * Adds answered counts for many new response rows at once, keyed by field id.
+     */
+    @Transactional
+    public void recordAdded(Long formId, Map<String, Integer> answeredCounts) {
+        answeredCounts.forEach((fieldId, count) -> {
+            if (fieldId != null && count > 0) {
+                formFieldCompletionRepository.adjustAnsweredCount(formId, fieldId, count);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Set<String> answeredFieldIds(Long formId) {
+        return new HashSet<>(formFieldCompletionRepository.findAnsweredFieldIds(formId));
+    }
+
+    /**
+     * True when every field belonging to one of the given levels has at least one answer.
+     */
+    @Transactional(readOnly = true)
+    public boolean areLevelsFilled(FormDefinition definition, List<Integer> levels) {
+        Set<String> answered = null;
+        for (Integer level : levels) {
+            Set<String> levelFieldIds = definition.getFieldIdsForLevel(level);
+            if (levelFieldIds.isEmpty()) {
+                continue;
+            }
+            if (answered == null) {
+                answered = answeredFieldIds(definition.getFormId());
+            }
+            if (!answered.containsAll(levelFieldIds)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Transactional
+    public void clear(Long formId) {
+        formFieldCompletionRepository.deleteByFormId(formId);
+    }
+
+    /**
+     * Recomputes the counts of a form from the parsed field responses of each of its response rows.
+     */
+    @Transactional
+    public void rebuild(Long formId, List<List<FieldResponse>> responses) {
+        formFieldCompletionRepository.deleteByFormId(formId);
+        Map<String, Integer> counts = new HashMap<>();
+        responses.forEach(fieldResponses -> fieldResponses.stream()
+                .map(FieldResponse::getFieldId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(fieldId -> counts.merge(fieldId, 1, Integer::sum)));
+        List<FormFieldCompletion> rows = new ArrayList<>();
+        counts.forEach((fieldId, count) -> {
+            FormFieldCompletion row = new FormFieldCompletion();
+            row.setFormId(formId);
+            row.setFieldId(fieldId);
+            row.setAnsweredCount(count);
+            rows.add(row);
+        });
+        formFieldCompletionRepository.saveAll(rows);
+    }
+}
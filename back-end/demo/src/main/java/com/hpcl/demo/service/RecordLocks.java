@@ -0,0 +1,73 @@
+package com.hpcl.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped in-process locks keyed by (formId, recordId). Saves of the same record on one node queue
+ * up here instead of failing on the version check; records that share a stripe just wait a little.
+ * Conflicts with other nodes are still caught by the @Version column of Response.
+ * <p>
+ * A batch submit holds the stripes of all its records for its whole transaction, so there are at
+ * least {@value #STRIPES_PER_BATCH_RECORD} stripes per record of the largest batch: a full batch then
+ * holds under 2% of the stripes, and an unrelated save waits on it with about that probability.
+ * Chunking the batch would hold fewer stripes but give up its single transaction. Each stripe is one
+ * ReentrantLock, so the default 500-record cap costs 32000 locks (under 2 MB).
+ * <pre>
+ * try (RecordLocks.Held ignored = recordLocks.lock(formId, recordId)) {
+ *     // read, merge, save
+ * }
+ * </pre>
+ */
+@Component
+public class RecordLocks {
+
+    static final int STRIPES_PER_BATCH_RECORD = 64;
+
+    private final ReentrantLock[] stripes;
+
+    public RecordLocks(@Value("${responses.record-locks.stripes:1024}") int stripes,
+                       @Value("${responses.batch.max-records:500}") int maxBatchRecords) {
+        int count = Math.max(stripes, maxBatchRecords * STRIPES_PER_BATCH_RECORD);
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Held lock(Long formId, String recordId) {
+        ReentrantLock lock = stripes[stripe(formId, recordId)];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    /**
+     * Locks the stripes of several records of a form, always in stripe order so two batches cannot deadlock.
+     */
+    public Held lockAll(Long formId, Collection<String> recordIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String recordId : recordIds) {
+            indexes.add(stripe(formId, recordId));
+        }
+        for (Integer index : indexes) {
+            stripes[index].lock();
+        }
+        return () -> indexes.descendingSet().forEach(index -> stripes[index].unlock());
+    }
+
+    private int stripe(Long formId, String recordId) {
+        int hash = 31 * Long.hashCode(formId) + recordId.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, stripes.length);
+    }
+
+    @FunctionalInterface
+    public interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,138 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.Field;
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.Form;
+import com.hpcl.demo.entity.Response;
+import com.hpcl.demo.repository.ResponseRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Writes the responses of a form as CSV or XLSX, one record per row with one column per exported field.
+ * Rows are read from a streaming cursor (or keyset chunks in FIELD mode) and written immediately, so
+ * heap use does not depend on the number of responses.
+ */
+@Service
+public class ResponseExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseExportService.class);
+
+    @Autowired
+    private ResponseRepository responseRepository;
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+
+    @Autowired
+    private ResponseReader responseReader;
+
+    @Autowired
+    private ResponseFieldStore responseFieldStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${responses.export.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Exports the given fields of every response of the form to {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public void export(Form form, FormDefinition definition, Set<String> fieldIds, ExportFormat format, OutputStream out) throws IOException {
+        List<Field> columns = definition.getFields().stream()
+                .filter(field -> fieldIds.contains(field.getId()))
+                .toList();
+        // Resolved up front: no other statement may run on the connection while MySQL is streaming rows.
+        Map<String, String> employeeNames = employeeDirectory.resolveNames(
+                responseRepository.findDistinctEmployeeIdsByFormId(form.getId()));
+        long rows = 0;
+
+        try (TabularWriter writer = format == ExportFormat.XLSX
+                ? new XlsxTabularWriter(out, form.getTitle())
+                : new CsvTabularWriter(out)) {
+            List<String> header = new ArrayList<>(List.of("Response ID", "Record ID", "Employee ID", "Employee Name", "Last Updated"));
+            columns.forEach(field -> header.add(field.getQuestion() != null ? field.getQuestion() : field.getId()));
+            writer.writeRow(header);
+
+            if (responseFieldStore.isReadEnabled()) {
+                rows = exportFromFieldStore(form.getId(), fieldIds, columns, employeeNames, writer);
+            } else {
+                try (Stream<Response> responses = responseRepository.streamByFormId(form.getId())) {
+                    Iterator<Response> iterator = responses.iterator();
+                    while (iterator.hasNext()) {
+                        Response response = iterator.next();
+                        StoredResponse stored = responseReader.toStoredResponse(response, fieldIds);
+                        writer.writeRow(toRow(stored, lastUpdated(response.getUpdatedAt(), response.getTime()), columns, employeeNames));
+                        entityManager.detach(response);
+                        rows++;
+                    }
+                }
+            }
+        }
+        logger.debug("Exported {} response(s) of form ID {} as {}", rows, form.getId(), format);
+    }
+
+    private long exportFromFieldStore(Long formId, Set<String> fieldIds, List<Field> columns,
+                                      Map<String, String> employeeNames, TabularWriter writer) throws IOException {
+        long rows = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<ResponseRepository.ResponseHeader> headers =
+                    responseRepository.findHeadersByFormIdAfter(formId, afterId, PageRequest.of(0, chunkSize));
+            if (headers.isEmpty()) {
+                return rows;
+            }
+            Map<Long, List<FieldResponse>> fields = responseFieldStore.findByResponseIds(
+                    headers.stream().map(ResponseRepository.ResponseHeader::getId).toList());
+            for (ResponseRepository.ResponseHeader header : headers) {
+                List<FieldResponse> accessible = fields.getOrDefault(header.getId(), Collections.emptyList()).stream()
+                        .filter(fr -> fieldIds.contains(fr.getFieldId()))
+                        .toList();
+                StoredResponse stored = new StoredResponse(header.getId(), header.getEmployeeId(), header.getRecordId(), accessible);
+                writer.writeRow(toRow(stored, lastUpdated(header.getUpdatedAt(), header.getTime()), columns, employeeNames));
+                rows++;
+            }
+            afterId = headers.get(headers.size() - 1).getId();
+            entityManager.clear();
+        }
+    }
+
+    private static String lastUpdated(ZonedDateTime updatedAt, ZonedDateTime createdAt) {
+        ZonedDateTime time = updatedAt != null ? updatedAt : createdAt;
+        return time != null ? time.toString() : "";
+    }
+
+    private List<String> toRow(StoredResponse response, String time, List<Field> columns, Map<String, String> employeeNames) {
+        Map<String, String> values = new HashMap<>();
+        response.fields().forEach(fr -> values.put(fr.getFieldId(), fr.getValue()));
+        List<String> row = new ArrayList<>(columns.size() + 5);
+        row.add(String.valueOf(response.responseId()));
+        row.add(response.recordId());
+        row.add(response.employeeId());
+        row.add(employeeName(response.employeeId(), employeeNames));
+        row.add(time);
+        for (Field column : columns) {
+            row.add(values.get(column.getId()));
+        }
+        return row;
+    }
+
+    private String employeeName(String employeeId, Map<String, String> employeeNames) {
+        return employeeId != null ? employeeNames.getOrDefault(employeeId, "Unknown") : "Unknown";
+    }
+}
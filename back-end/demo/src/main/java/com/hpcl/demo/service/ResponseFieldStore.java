@@ -0,0 +1,205 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.Response;
+import com.hpcl.demo.entity.ResponseField;
+import com.hpcl.demo.repository.ResponseFieldRepository;
+import com.hpcl.demo.repository.ResponseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Maintains the normalized response_field table next to the JSON blob in responses.responses.
+ * Every write here is a no-op in {@link ResponseStorageMode#BLOB} mode, and in the other modes it
+ * comes on top of the blob write, which callers always make.
+ */
+@Service
+public class ResponseFieldStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseFieldStore.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO response_field " +
+            "(response_id, form_id, record_id, field_id, field_value, employee_id, employee_name, linked_response_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE field_value = VALUES(field_value), employee_id = VALUES(employee_id), " +
+            "employee_name = VALUES(employee_name), linked_response_id = VALUES(linked_response_id), " +
+            "record_id = VALUES(record_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ResponseFieldRepository responseFieldRepository;
+
+    @Autowired
+    private ResponseRepository responseRepository;
+
+    @Value("${responses.storage.mode:BLOB}")
+    private ResponseStorageMode mode;
+
+    public ResponseStorageMode getMode() {
+        return mode;
+    }
+
+    public boolean isWriteEnabled() {
+        return mode != ResponseStorageMode.BLOB;
+    }
+
+    public boolean isReadEnabled() {
+        return mode == ResponseStorageMode.FIELD;
+    }
+
+    /**
+     * Upserts one row per given field of the response.
+     */
+    @Transactional
+    public void upsert(Response response, Collection<FieldResponse> fields) {
+        if (!isWriteEnabled()) {
+            return;
+        }
+        for (FieldResponse field : fields) {
+            if (field.getFieldId() == null) {
+                continue;
+            }
+            responseFieldRepository.upsert(response.getId(), response.getFormId(), response.getRecordId(), field.getFieldId(),
+                    field.getValue(), field.getEmployeeId(), field.getEmployeeName(), field.getLinkedResponseId());
+        }
+    }
+
+    /**
+     * Same as {@link #upsert(Response, Collection)} for many responses, sent as JDBC batches.
+     */
+    @Transactional
+    public void upsertAll(Map<Response, List<FieldResponse>> responses, int batchSize) {
+        if (!isWriteEnabled()) {
+            return;
+        }
+        List<ResponseField> rows = new ArrayList<>();
+        responses.forEach((response, fields) -> fields.stream()
+                .filter(field -> field.getFieldId() != null)
+                .forEach(field -> rows.add(toRow(response, field))));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.getResponseId());
+            ps.setLong(2, row.getFormId());
+            ps.setString(3, row.getRecordId());
+            ps.setString(4, row.getFieldId());
+            ps.setString(5, row.getValue());
+            ps.setString(6, row.getEmployeeId());
+            ps.setString(7, row.getEmployeeName());
+            ps.setString(8, row.getLinkedResponseId());
+        });
+    }
+
+    @Transactional
+    public void remove(Long responseId, Collection<String> fieldIds) {
+        if (isWriteEnabled() && !fieldIds.isEmpty()) {
+            responseFieldRepository.deleteByResponseIdAndFieldIdIn(responseId, fieldIds);
+        }
+    }
+
+    @Transactional
+    public void removeResponse(Long responseId) {
+        if (isWriteEnabled()) {
+            responseFieldRepository.deleteByResponseId(responseId);
+        }
+    }
+
+    @Transactional
+    public void removeForm(Long formId) {
+        if (isWriteEnabled()) {
+            responseFieldRepository.deleteByFormId(formId);
+        }
+    }
+
+    /**
+     * Reads the field rows of a form grouped by response id, restricted to {@code fieldIds} when given.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<FieldResponse>> findByFormId(Long formId, Collection<String> fieldIds) {
+        List<ResponseField> rows = fieldIds == null
+                ? responseFieldRepository.findByFormIdOrderByResponseIdAscIdAsc(formId)
+                : fieldIds.isEmpty()
+                ? Collections.emptyList()
+                : responseFieldRepository.findByFormIdAndFieldIdInOrderByResponseIdAscIdAsc(formId, fieldIds);
+        return group(rows);
+    }
+
+    /**
+     * Reads the field rows of several forms in one query, grouped by response id.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<FieldResponse>> findByFormIds(Collection<Long> formIds) {
+        if (formIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return group(responseFieldRepository.findByFormIdInOrderByResponseIdAscIdAsc(formIds));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, List<FieldResponse>> findByResponseIds(Collection<Long> responseIds) {
+        if (responseIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return group(responseFieldRepository.findByResponseIdInOrderByResponseIdAscIdAsc(responseIds));
+    }
+
+    /**
+     * Copies one batch of blobs that have no response_field rows yet, starting after {@code afterId}.
+     * @return the id of the last response examined, or null when nothing was left to copy
+     */
+    @Transactional
+    public Long migrateBatch(Long afterId, int batchSize, Function<Response, List<FieldResponse>> parser) {
+        List<Response> batch = responseRepository.findWithoutResponseFieldsAfter(afterId, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return null;
+        }
+        for (Response response : batch) {
+            if (response.getFormId() == null) {
+                continue;
+            }
+            List<ResponseField> rows = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (FieldResponse field : parser.apply(response)) {
+                if (field.getFieldId() != null && seen.add(field.getFieldId())) {
+                    rows.add(toRow(response, field));
+                }
+            }
+            responseFieldRepository.saveAll(rows);
+        }
+        Long lastId = batch.get(batch.size() - 1).getId();
+        logger.debug("Copied {} response blob(s) into response_field, last response ID {}", batch.size(), lastId);
+        return lastId;
+    }
+
+    private ResponseField toRow(Response response, FieldResponse field) {
+        ResponseField row = new ResponseField();
+        row.setResponseId(response.getId());
+        row.setFormId(response.getFormId());
+        row.setRecordId(response.getRecordId());
+        row.setFieldId(field.getFieldId());
+        row.setValue(field.getValue());
+        row.setEmployeeId(field.getEmployeeId());
+        row.setEmployeeName(field.getEmployeeName());
+        row.setLinkedResponseId(field.getLinkedResponseId());
+        return row;
+    }
+
+    private Map<Long, List<FieldResponse>> group(List<ResponseField> rows) {
+        Map<Long, List<FieldResponse>> grouped = new LinkedHashMap<>();
+        for (ResponseField row : rows) {
+            grouped.computeIfAbsent(row.getResponseId(), k -> new ArrayList<>())
+                    .add(new FieldResponse(row.getEmployeeId(), row.getEmployeeName(), row.getFieldId(),
+                            row.getValue(), row.getLinkedResponseId()));
+        }
+        return grouped;
+    }
+}
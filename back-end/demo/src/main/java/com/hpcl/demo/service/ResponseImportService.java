@@ -0,0 +1,325 @@
+package com.hpcl.demo.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hpcl.demo.entity.Employee;
+import com.hpcl.demo.entity.Field;
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.Form;
+import com.hpcl.demo.entity.Response;
+import com.hpcl.demo.repository.ResponseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports many records into a form from a CSV file or a JSON array streamed from the request body.
+ * Records are checked against the form definition and saved in chunks of responses.import.batch-size
+ * through {@link FormService#importResponses}. Each chunk commits on its own, so when the input turns
+ * out to be malformed part-way the records before that point stay imported.
+ * <p>
+ * CSV: a header row naming each column by field id or question text, plus an optional "Record ID"
+ * column. The other metadata columns of an export are ignored, so an exported file can be imported again.
+ * <br>
+ * JSON: {@code [{"recordId": "...", "responses": [{"fieldId": "...", "value": "...", "linkedResponseId": null}]}]}
+ * <p>
+ * A record without a record id gets a new one; a record id that already exists in the form is rejected.
+ */
+@Service
+public class ResponseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseImportService.class);
+
+    private static final Set<String> RECORD_ID_COLUMNS = Set.of("record id", "recordid");
+    private static final Set<String> EXPORT_METADATA_COLUMNS = Set.of("response id", "employee id", "employee name", "last updated");
+
+    public enum Format { CSV, JSON }
+
+    public record RecordError(int record, String recordId, String message) { }
+
+    /**
+     * @param complete false when reading stopped early (malformed input, record limit or a failed chunk)
+     */
+    public record Result(int imported, int skipped, int errorCount, List<RecordError> errors, boolean complete) { }
+
+    record ImportedField(String fieldId, String value, String linkedResponseId) { }
+
+    record ImportedRecord(String recordId, List<ImportedField> responses) { }
+
+    private interface RecordSource {
+        /**
+         * @return the next record, or null at end of input
+         */
+        ImportedRecord next() throws IOException;
+    }
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private ResponseRepository responseRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${responses.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${responses.import.max-records:200000}")
+    private int maxRecords;
+
+    @Value("${responses.import.max-errors:100}")
+    private int maxErrors;
+
+    /**
+     * @param allowedFieldIds the fields the importing employee may answer
+     * @throws IllegalArgumentException when the input cannot be imported at all (empty file, unknown
+     *                                  or inaccessible column, not a JSON array); nothing has been written then
+     */
+    public Result importRecords(Form form, FormDefinition definition, Set<String> allowedFieldIds, Employee importer,
+                                Format format, InputStream in, Charset charset) throws IOException {
+        Set<String> formFieldIds = definition.getFields().stream().map(Field::getId).collect(Collectors.toSet());
+        Progress progress = new Progress(maxErrors);
+        ZonedDateTime now = ZonedDateTime.now();
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(in, charset))) {
+            RecordSource source = format == Format.CSV
+                    ? csvSource(new CsvRecordReader(reader), definition, formFieldIds, allowedFieldIds)
+                    : jsonSource(reader);
+            Set<String> recordIds = new HashSet<>(responseRepository.findDistinctRecordIdsByFormId(form.getId()));
+            Map<Response, List<FieldResponse>> chunk = new LinkedHashMap<>();
+            int index = 0;
+            while (true) {
+                ImportedRecord record;
+                try {
+                    record = source.next();
+                } catch (IOException e) {
+                    progress.error(index + 1, null, "Malformed input, import stopped: " + e.getMessage());
+                    progress.complete = false;
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                index++;
+                if (progress.imported + chunk.size() >= maxRecords) {
+                    progress.error(index, record.recordId(), "Import is limited to " + maxRecords + " records; the rest was not read");
+                    progress.complete = false;
+                    break;
+                }
+
+                String problem = validate(record, formFieldIds, allowedFieldIds, recordIds);
+                if (problem != null) {
+                    progress.skipped++;
+                    progress.error(index, record.recordId(), problem);
+                    continue;
+                }
+                String recordId = isBlank(record.recordId()) ? "record-" + UUID.randomUUID() : record.recordId();
+                recordIds.add(recordId);
+                List<FieldResponse> fields = toFieldResponses(importer, record);
+                chunk.put(toResponse(form.getId(), recordId, importer, fields, now), fields);
+
+                if (chunk.size() >= batchSize && !flush(form.getId(), chunk, index, progress)) {
+                    break;
+                }
+            }
+            // Also after malformed input or the record limit: the valid records read before that point are kept.
+            flush(form.getId(), chunk, index, progress);
+        }
+
+        logger.info("Imported {} record(s) into form ID {} for employee ID {}, {} skipped",
+                progress.imported, form.getId(), importer.getEmployeeId(), progress.skipped);
+        return new Result(progress.imported, progress.skipped, progress.errorCount, progress.errors, progress.complete);
+    }
+
+    private boolean flush(Long formId, Map<Response, List<FieldResponse>> chunk, int index, Progress progress) {
+        if (chunk.isEmpty()) {
+            return true;
+        }
+        try {
+            formService.importResponses(formId, chunk);
+            progress.imported += chunk.size();
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("Saving {} imported record(s) into form ID {} failed: {}", chunk.size(), formId, e.getMessage(), e);
+            progress.skipped += chunk.size();
+            progress.error(index, null, chunk.size() + " record(s) up to this one could not be saved, import stopped");
+            progress.complete = false;
+            return false;
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private String validate(ImportedRecord record, Set<String> formFieldIds, Set<String> allowedFieldIds, Set<String> recordIds) {
+        if (!isBlank(record.recordId()) && recordIds.contains(record.recordId())) {
+            return "Record ID already exists in this form or earlier in the import";
+        }
+        if (record.responses() == null || record.responses().isEmpty()) {
+            return "Record has no answers";
+        }
+        Set<String> seen = new HashSet<>();
+        for (ImportedField field : record.responses()) {
+            if (field == null || isBlank(field.fieldId())) {
+                return "Answer without a fieldId";
+            }
+            if (!formFieldIds.contains(field.fieldId())) {
+                return "Unknown field " + field.fieldId();
+            }
+            if (!allowedFieldIds.contains(field.fieldId())) {
+                return "No access to field " + field.fieldId();
+            }
+            if (!seen.add(field.fieldId())) {
+                return "Field " + field.fieldId() + " is answered more than once";
+            }
+        }
+        return null;
+    }
+
+    private Response toResponse(Long formId, String recordId, Employee importer, List<FieldResponse> fields, ZonedDateTime time)
+            throws IOException {
+        Response response = new Response();
+        response.setFormId(formId);
+        response.setEmployeeId(importer.getEmployeeId());
+        response.setRecordId(recordId);
+        response.setTime(time);
+        response.setUpdatedAt(time);
+        response.setResponses(objectMapper.writeValueAsString(fields));
+        return response;
+    }
+
+    private List<FieldResponse> toFieldResponses(Employee importer, ImportedRecord record) {
+        List<FieldResponse> fields = new ArrayList<>(record.responses().size());
+        for (ImportedField field : record.responses()) {
+            fields.add(new FieldResponse(importer.getEmployeeId(), importer.getEmployeeName(), field.fieldId(),
+                    field.value(), field.linkedResponseId()));
+        }
+        return fields;
+    }
+
+    private RecordSource jsonSource(Reader reader) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(reader);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of records");
+        }
+        return () -> {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a record object but found " + token);
+            }
+            return objectMapper.readValue(parser, ImportedRecord.class);
+        };
+    }
+
+    private RecordSource csvSource(CsvRecordReader csv, FormDefinition definition, Set<String> formFieldIds,
+                                   Set<String> allowedFieldIds) throws IOException {
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file is empty");
+        }
+
+        Map<String, String> fieldIdByQuestion = new HashMap<>();
+        Set<String> ambiguousQuestions = new HashSet<>();
+        for (Field field : definition.getFields()) {
+            if (field.getQuestion() != null && fieldIdByQuestion.putIfAbsent(field.getQuestion().trim(), field.getId()) != null) {
+                ambiguousQuestions.add(field.getQuestion().trim());
+            }
+        }
+
+        String[] columnFieldIds = new String[header.size()];
+        int recordIdColumn = -1;
+        Set<String> mappedFieldIds = new HashSet<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            String normalized = name.toLowerCase(Locale.ROOT);
+            String fieldId;
+            if (RECORD_ID_COLUMNS.contains(normalized)) {
+                recordIdColumn = i;
+                continue;
+            } else if (EXPORT_METADATA_COLUMNS.contains(normalized) || name.isEmpty()) {
+                continue;
+            } else if (formFieldIds.contains(name)) {
+                fieldId = name;
+            } else if (ambiguousQuestions.contains(name)) {
+                throw new IllegalArgumentException("Column \"" + name + "\" matches more than one question; use the field id");
+            } else if (fieldIdByQuestion.containsKey(name)) {
+                fieldId = fieldIdByQuestion.get(name);
+            } else {
+                throw new IllegalArgumentException("Column \"" + name + "\" does not match any field of the form");
+            }
+            if (!allowedFieldIds.contains(fieldId)) {
+                throw new IllegalArgumentException("No access to the field of column \"" + name + "\"");
+            }
+            if (!mappedFieldIds.add(fieldId)) {
+                throw new IllegalArgumentException("More than one column maps to the field of column \"" + name + "\"");
+            }
+            columnFieldIds[i] = fieldId;
+        }
+
+        int recordIdIndex = recordIdColumn;
+        return () -> {
+            List<String> cells;
+            do {
+                cells = csv.readRecord();
+            } while (cells != null && cells.stream().allMatch(String::isEmpty));
+            if (cells == null) {
+                return null;
+            }
+            String recordId = recordIdIndex >= 0 && recordIdIndex < cells.size() ? cells.get(recordIdIndex).trim() : null;
+            List<ImportedField> fields = new ArrayList<>();
+            for (int i = 0; i < Math.min(cells.size(), columnFieldIds.length); i++) {
+                if (columnFieldIds[i] != null && !cells.get(i).isEmpty()) {
+                    fields.add(new ImportedField(columnFieldIds[i], unescapeFormula(cells.get(i)), null));
+                }
+            }
+            return new ImportedRecord(recordId, fields);
+        };
+    }
+
+    /**
+     * Undoes the quote that {@link CsvTabularWriter} puts in front of cells starting with = + - or @.
+     */
+    private static String unescapeFormula(String value) {
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static class Progress {
+        private final int maxErrors;
+        private final List<RecordError> errors = new ArrayList<>();
+        private int imported;
+        private int skipped;
+        private int errorCount;
+        private boolean complete = true;
+
+        Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void error(int record, String recordId, String message) {
+            errorCount++;
+            if (errors.size() < maxErrors) {
+                errors.add(new RecordError(record, recordId, message));
+            }
+        }
+    }
+}
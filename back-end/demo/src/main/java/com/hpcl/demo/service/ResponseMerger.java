@@ -0,0 +1,32 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.FieldResponse;
+
+import java.util.*;
+
+/**
+ * Merges newly submitted field answers into a stored response.
+ */
+public final class ResponseMerger {
+
+    private ResponseMerger() {
+    }
+
+    /**
+     * Keeps the existing answers whose field was not resubmitted, followed by the upserted ones.
+     */
+    public static List<FieldResponse> merge(List<FieldResponse> existing, Collection<FieldResponse> upserted) {
+        Set<String> upsertedFieldIds = new HashSet<>();
+        for (FieldResponse fieldResponse : upserted) {
+            upsertedFieldIds.add(fieldResponse.getFieldId());
+        }
+        List<FieldResponse> merged = new ArrayList<>(existing.size() + upserted.size());
+        for (FieldResponse fieldResponse : existing) {
+            if (!upsertedFieldIds.contains(fieldResponse.getFieldId())) {
+                merged.add(fieldResponse);
+            }
+        }
+        merged.addAll(upserted);
+        return merged;
+    }
+}
@@ -0,0 +1,9 @@
+package com.hpcl.demo.service;
+
+import java.util.List;
+
+/**
+ * One keyset page of responses. {@code nextCursor} is null on the last page.
+ */
+public record ResponsePage(List<StoredResponse> items, String nextCursor) {
+}
@@ -0,0 +1,240 @@
+package com.hpcl.demo.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hpcl.demo.config.ServerTiming;
+import com.hpcl.demo.entity.FieldResponse;
+import com.hpcl.demo.entity.Response;
+import com.hpcl.demo.repository.ResponseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reads parsed responses of a form from whichever store {@link ResponseFieldStore} says is authoritative.
+ */
+@Service
+public class ResponseReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseReader.class);
+
+    private static final TypeReference<List<FieldResponse>> FIELD_RESPONSE_LIST = new TypeReference<>() {};
+
+    @Autowired
+    private ResponseRepository responseRepository;
+
+    @Autowired
+    private ResponseFieldStore responseFieldStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer parseTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        parseTimer = Timer.builder("app.json.parse")
+                .tag("type", "response")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns every response row of the form in id order. When {@code fieldIds} is not null only those
+     * fields are returned; in FIELD mode the others are never loaded.
+     */
+    public List<StoredResponse> read(Long formId, Set<String> fieldIds) {
+        List<StoredResponse> result = new ArrayList<>();
+        if (responseFieldStore.isReadEnabled()) {
+            Map<Long, List<FieldResponse>> fieldsByResponse = responseFieldStore.findByFormId(formId, fieldIds);
+            for (ResponseRepository.ResponseHeader header : responseRepository.findHeadersByFormId(formId)) {
+                result.add(new StoredResponse(header.getId(), header.getEmployeeId(), header.getRecordId(),
+                        fieldsByResponse.getOrDefault(header.getId(), Collections.emptyList())));
+            }
+            return result;
+        }
+        for (Response response : responseRepository.findByFormId(formId)) {
+            result.add(toStoredResponse(response, fieldIds));
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #read} for several forms at once, with one query per store instead of one per form.
+     * {@code fieldIdsByForm} maps each form id to the fields to return, or to null for all fields; every
+     * form id is a key of the result, in id order per form.
+     */
+    public Map<Long, List<StoredResponse>> readForms(Map<Long, Set<String>> fieldIdsByForm) {
+        Map<Long, List<StoredResponse>> result = new HashMap<>();
+        fieldIdsByForm.keySet().forEach(formId -> result.put(formId, new ArrayList<>()));
+        if (fieldIdsByForm.isEmpty()) {
+            return result;
+        }
+        if (responseFieldStore.isReadEnabled()) {
+            Map<Long, List<FieldResponse>> fieldsByResponse = responseFieldStore.findByFormIds(fieldIdsByForm.keySet());
+            for (ResponseRepository.FormResponseHeader header : responseRepository.findHeadersByFormIdIn(fieldIdsByForm.keySet())) {
+                Set<String> fieldIds = fieldIdsByForm.get(header.getFormId());
+                List<FieldResponse> fields = fieldsByResponse.getOrDefault(header.getId(), Collections.emptyList());
+                if (fieldIds != null) {
+                    fields = fields.stream().filter(fr -> fieldIds.contains(fr.getFieldId())).toList();
+                }
+                result.get(header.getFormId()).add(new StoredResponse(header.getId(), header.getEmployeeId(),
+                        header.getRecordId(), fields));
+            }
+            return result;
+        }
+        for (Response response : responseRepository.findByFormIdInOrderByIdAsc(fieldIdsByForm.keySet())) {
+            result.get(response.getFormId()).add(toStoredResponse(response, fieldIdsByForm.get(response.getFormId())));
+        }
+        return result;
+    }
+
+    /**
+     * Reads one keyset page of responses. {@code cursor} is the value returned as nextCursor by the
+     * previous page, or null for the first page.
+     * @throws IllegalArgumentException if the cursor is malformed or does not match the sort
+     */
+    public ResponsePage readPage(Long formId, ResponseSort sort, String cursor, int size, Set<String> fieldIds) {
+        // One extra row tells whether another page exists.
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ResponseRepository.ResponseHeader> headers;
+        if (sort.byCreatedAt()) {
+            TimeCursor after = cursor == null ? null : decodeTimeCursor(cursor);
+            if (sort == ResponseSort.CREATED_ASC) {
+                headers = after == null
+                        ? responseRepository.findHeadersByFormIdOrderByTimeAsc(formId, limit)
+                        : responseRepository.findHeadersByFormIdAfterTime(formId, after.time(), after.id(), limit);
+            } else {
+                headers = after == null
+                        ? responseRepository.findHeadersByFormIdOrderByTimeDesc(formId, limit)
+                        : responseRepository.findHeadersByFormIdBeforeTime(formId, after.time(), after.id(), limit);
+            }
+        } else {
+            Long afterId = cursor == null ? null : decodeIdCursor(cursor);
+            headers = sort == ResponseSort.ID_ASC
+                    ? responseRepository.findHeadersByFormIdAfter(formId, afterId == null ? 0L : afterId, limit)
+                    : responseRepository.findHeadersByFormIdBefore(formId, afterId == null ? Long.MAX_VALUE : afterId, limit);
+        }
+
+        boolean hasMore = headers.size() > size;
+        List<ResponseRepository.ResponseHeader> pageHeaders = hasMore ? headers.subList(0, size) : headers;
+        String nextCursor = null;
+        if (hasMore) {
+            ResponseRepository.ResponseHeader last = pageHeaders.get(pageHeaders.size() - 1);
+            nextCursor = sort.byCreatedAt() ? encodeTimeCursor(last.getTime(), last.getId()) : encodeIdCursor(last.getId());
+        }
+        return new ResponsePage(readHeaders(pageHeaders, fieldIds), nextCursor);
+    }
+
+    /**
+     * Loads the field values of the given response rows, keeping the order of {@code headers}.
+     */
+    public List<StoredResponse> readHeaders(List<ResponseRepository.ResponseHeader> headers, Set<String> fieldIds) {
+        if (headers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = headers.stream().map(ResponseRepository.ResponseHeader::getId).toList();
+        Map<Long, List<FieldResponse>> fieldsById;
+        if (responseFieldStore.isReadEnabled()) {
+            fieldsById = responseFieldStore.findByResponseIds(ids);
+        } else {
+            fieldsById = responseRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Response::getId, this::parse));
+        }
+        List<StoredResponse> result = new ArrayList<>(headers.size());
+        for (ResponseRepository.ResponseHeader header : headers) {
+            List<FieldResponse> fields = fieldsById.getOrDefault(header.getId(), Collections.emptyList());
+            if (fieldIds != null) {
+                fields = fields.stream().filter(fr -> fieldIds.contains(fr.getFieldId())).toList();
+            }
+            result.add(new StoredResponse(header.getId(), header.getEmployeeId(), header.getRecordId(), fields));
+        }
+        return result;
+    }
+
+    public StoredResponse toStoredResponse(Response response, Set<String> fieldIds) {
+        List<FieldResponse> fields = parse(response);
+        if (fieldIds != null) {
+            fields = fields.stream().filter(fr -> fieldIds.contains(fr.getFieldId())).toList();
+        }
+        return new StoredResponse(response.getId(), response.getEmployeeId(), response.getRecordId(), fields);
+    }
+
+    /**
+     * Parses the JSON blob of a response row. Unreadable blobs are logged and treated as empty.
+     */
+    public List<FieldResponse> parse(Response response) {
+        if (response.getResponses() == null) {
+            logger.error("Response content is null for response ID {}", response.getId());
+            return Collections.emptyList();
+        }
+        Timer.Sample sample = Timer.start();
+        try (ServerTiming.Phase ignored = ServerTiming.phase("response-parse")) {
+            return objectMapper.readValue(response.getResponses(), FIELD_RESPONSE_LIST);
+        } catch (Exception e) {
+            logger.error("Error parsing response ID {}: {}", response.getId(), e.getMessage());
+            return Collections.emptyList();
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+
+    private record TimeCursor(ZonedDateTime time, Long id) {
+    }
+
+    private static String encodeIdCursor(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    private static Long decodeIdCursor(String cursor) {
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private static String encodeTimeCursor(ZonedDateTime time, Long id) {
+        Instant instant = time.toInstant();
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        return encode(micros + ":" + id);
+    }
+
+    private static TimeCursor decodeTimeCursor(String cursor) {
+        String[] parts = decode(cursor).split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        try {
+            Instant instant = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+            return new TimeCursor(ZonedDateTime.ofInstant(instant, ZoneId.systemDefault()), Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hpcl.demo.service;
+
+/**
+ * Orderings supported by keyset-paginated response listings. Ties on created_at are broken by id.
+ */
+public enum ResponseSort {
+    ID_ASC,
+    ID_DESC,
+    CREATED_ASC,
+    CREATED_DESC;
+
+    public boolean byCreatedAt() {
+        return this == CREATED_ASC || this == CREATED_DESC;
+    }
+}
@@ -0,0 +1,18 @@
+package com.hpcl.demo.service;
+
+/**
+ * Where response field values are written to and read from.
+ * Configured with {@code responses.storage.mode}.
+ * <p>
+ * The blob stays the source of truth in every mode: saves still read, merge and rewrite it, and
+ * DUAL and FIELD write the changed response_field rows in addition. FIELD only makes reads cheaper
+ * (single fields, no blob parsing); it does not make writes smaller.
+ */
+public enum ResponseStorageMode {
+    /** Only the JSON blob in responses.responses is used. */
+    BLOB,
+    /** Writes go to the blob and to response_field; reads still use the blob. Existing blobs are copied on start. */
+    DUAL,
+    /** Writes go to both stores, the response_field rows on top of the blob; reads come from response_field. */
+    FIELD
+}
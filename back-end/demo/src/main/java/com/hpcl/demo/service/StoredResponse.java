@@ -0,0 +1,11 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.FieldResponse;
+
+import java.util.List;
+
+/**
+ * A response row with its field values already parsed, independent of the storage mode it was read from.
+ */
+public record StoredResponse(Long responseId, String employeeId, String recordId, List<FieldResponse> fields) {
+}
@@ -0,0 +1,18 @@
+package com.hpcl.demo.service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes rows of cells to an output stream one at a time, without holding earlier rows in memory.
+ */
+public interface TabularWriter extends AutoCloseable {
+
+    void writeRow(List<String> cells) throws IOException;
+
+    /**
+     * Finishes the document. Does not close the underlying stream.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,187 @@
+package com.hpcl.demo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(tokenService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(tokenService, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(tokenService, "clockSkew", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(tokenService, "keystorePath", "");
+        ReflectionTestUtils.setField(tokenService, "keystorePassword", new String(PASSWORD));
+        ReflectionTestUtils.setField(tokenService, "activeAlias", "");
+        ReflectionTestUtils.setField(tokenService, "reloadInterval", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void verifiesIssuedToken() {
+        TokenService.IssuedToken issued = tokenService.issue("e1", "EMPLOYEE", "Employee One");
+
+        TokenService.TokenClaims claims = tokenService.verify(issued.token());
+
+        assertEquals("e1", claims.subject());
+        assertEquals("EMPLOYEE", claims.role());
+        assertEquals("Employee One", claims.name());
+        assertEquals(issued.expiresAt(), claims.expiresAt());
+    }
+
+    @Test
+    void rejectsTamperedAndMalformedTokens() {
+        String token = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+        String[] parts = token.split("\\.");
+        String ownerClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"e1\",\"role\":\"OWNER\",\"iat\":1,\"exp\":9999999999,\"jti\":\"x\"}".getBytes());
+
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(parts[0] + "." + ownerClaims + "." + parts[2]));
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(parts[0] + "." + parts[1] + ".AAAA"));
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify("not-a-token"));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        ReflectionTestUtils.setField(tokenService, "ttl", Duration.ofMinutes(-5));
+        String token = tokenService.issue("e1", "EMPLOYEE", null).token();
+
+        assertThrows(CredentialsExpiredException.class, () -> tokenService.verify(token));
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndTheRevocationIsShared() {
+        String revoked = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+        String other = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+
+        tokenService.revoke(tokenService.verify(revoked));
+
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(revoked));
+        assertEquals("e1", tokenService.verify(other).subject());
+        verify(jdbcTemplate).update(startsWith("INSERT INTO token_revocation"), anyString(), isNull(), any(Timestamp.class), any(Timestamp.class));
+    }
+
+    @Test
+    void revokingASubjectRejectsItsEarlierTokens() {
+        String employeeToken = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+        String otherToken = tokenService.issue("e2", "EMPLOYEE", "Employee Two").token();
+
+        tokenService.revokeSubject("e1");
+
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(employeeToken));
+        assertEquals("e2", tokenService.verify(otherToken).subject());
+    }
+
+    @Test
+    void tokenIssuedAfterRevokingTheSubjectIsAccepted() throws Exception {
+        tokenService.revokeSubject("e1");
+        Thread.sleep(2);
+
+        // Usually within the same second as the revocation.
+        String token = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+
+        assertEquals("e1", tokenService.verify(token).subject());
+    }
+
+    @Test
+    void picksUpRevocationsWrittenByOtherNodes() throws Exception {
+        String token = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getTimestamp("revoked_at")).thenReturn(Timestamp.from(Instant.now().plusSeconds(1)));
+        when(row.getTimestamp("expires_at")).thenReturn(Timestamp.from(Instant.now().plus(Duration.ofHours(1))));
+        when(row.getString("employee_id")).thenReturn("e1");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        assertEquals("e1", tokenService.verify(token).subject());
+        tokenService.pollRevocations();
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(token));
+    }
+
+    @Test
+    void keepsVerifyingWhenThePollFails() {
+        String token = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        tokenService.pollRevocations();
+        assertEquals("e1", tokenService.verify(token).subject());
+    }
+
+    @Test
+    void rotatedKeystoreKeepsVerifyingOldTokensUntilTheirKeyIsRemoved() throws Exception {
+        Path keystore = tempDir.resolve("tokens.p12");
+        writeKeystore(keystore, Map.of("2024-01", key(1)), 1_000);
+        ReflectionTestUtils.setField(tokenService, "keystorePath", keystore.toString());
+        ReflectionTestUtils.setField(tokenService, "reloadInterval", Duration.ZERO);
+
+        String oldToken = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+
+        writeKeystore(keystore, Map.of("2024-01", key(1), "2024-02", key(2)), 2_000);
+        String newToken = tokenService.issue("e1", "EMPLOYEE", "Employee One").token();
+        assertTrue(new String(Base64.getUrlDecoder().decode(newToken.split("\\.")[0])).contains("\"kid\":\"2024-02\""));
+        assertEquals("e1", tokenService.verify(oldToken).subject());
+        assertEquals("e1", tokenService.verify(newToken).subject());
+
+        writeKeystore(keystore, Map.of("2024-02", key(2)), 3_000);
+        assertThrows(BadCredentialsException.class, () -> tokenService.verify(oldToken));
+        assertEquals("e1", tokenService.verify(newToken).subject());
+    }
+
+    private static SecretKeySpec key(int seed) {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, (byte) seed);
+        return new SecretKeySpec(secret, "HmacSHA256");
+    }
+
+    private static void writeKeystore(Path path, Map<String, SecretKeySpec> keys, long modifiedMillis) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, PASSWORD);
+        for (Map.Entry<String, SecretKeySpec> entry : keys.entrySet()) {
+            keyStore.setEntry(entry.getKey(), new KeyStore.SecretKeyEntry(entry.getValue()), new KeyStore.PasswordProtection(PASSWORD));
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            keyStore.store(out, PASSWORD);
+        }
+        // The service reloads when the modification time changes; make each version distinct.
+        Files.setLastModifiedTime(path, FileTime.fromMillis(modifiedMillis));
+    }
+}
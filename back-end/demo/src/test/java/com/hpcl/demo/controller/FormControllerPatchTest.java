@@ -0,0 +1,150 @@
+package com.hpcl.demo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hpcl.demo.entity.Employee;
+import com.hpcl.demo.entity.Form;
+import com.hpcl.demo.entity.Response;
+import com.hpcl.demo.repository.EmployeeRepository;
+import com.hpcl.demo.repository.FormRepository;
+import com.hpcl.demo.repository.ResponseRepository;
+import com.hpcl.demo.service.ActivityLogWriter;
+import com.hpcl.demo.service.FormDefinitionCache;
+import com.hpcl.demo.service.FormService;
+import com.hpcl.demo.service.RecordLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Access checks of PATCH /api/employee/form/{id}/record/{recordId} and the batch submit: only employees
+ * assigned to the form may change a record, and only the fields of their own levels.
+ */
+class FormControllerPatchTest {
+
+    private static final String CONTENT = "{\"fields\":[" +
+            "{\"id\":\"a\",\"question\":\"A\",\"type\":\"text\",\"levelNumbers\":[1]}," +
+            "{\"id\":\"b\",\"question\":\"B\",\"type\":\"text\",\"levelNumbers\":[2]}]," +
+            "\"levelAssignments\":{\"1\":[\"e1\"],\"2\":[\"e2\"]},\"levelPriorityOrder\":[1,2]}";
+
+    private EmployeeRepository employeeRepository;
+    private ResponseRepository responseRepository;
+    private FormService formService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        employeeRepository = mock(EmployeeRepository.class);
+        responseRepository = mock(ResponseRepository.class);
+        formService = mock(FormService.class);
+        FormRepository formRepository = mock(FormRepository.class);
+
+        Form form = new Form();
+        form.setId(1L);
+        form.setTitle("Form");
+        form.setOwnerEmployeeId("owner");
+        form.setFormContent(CONTENT);
+        when(formRepository.findById(1L)).thenReturn(Optional.of(form));
+
+        FormController controller = new FormController();
+        ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(controller, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(controller, "formRepository", formRepository);
+        ReflectionTestUtils.setField(controller, "responseRepository", responseRepository);
+        ReflectionTestUtils.setField(controller, "formService", formService);
+        ReflectionTestUtils.setField(controller, "activityLogWriter", mock(ActivityLogWriter.class));
+        ReflectionTestUtils.setField(controller, "recordLocks", new RecordLocks(16, 1));
+        ReflectionTestUtils.setField(controller, "maxMergeAttempts", 3);
+        ReflectionTestUtils.setField(controller, "maxBatchRecords", 10);
+        ReflectionTestUtils.setField(controller, "formDefinitionCache",
+                new FormDefinitionCache(objectMapper, new SimpleMeterRegistry(), 10, Duration.ofMinutes(1)));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void rejectsEmployeesNotAssignedToTheForm() throws Exception {
+        patchAs("e9", "{\"operations\":[{\"op\":\"set\",\"fieldId\":\"a\",\"value\":\"x\"}]}")
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(responseRepository, formService);
+    }
+
+    @Test
+    void rejectsSettingAFieldOutsideTheEmployeesLevels() throws Exception {
+        patchAs("e1", "{\"operations\":[{\"op\":\"set\",\"fieldId\":\"a\",\"value\":\"x\"},{\"op\":\"set\",\"fieldId\":\"b\",\"value\":\"y\"}]}")
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(responseRepository, formService);
+    }
+
+    @Test
+    void rejectsRemovingAFieldOutsideTheEmployeesLevels() throws Exception {
+        patchAs("e1", "{\"operations\":[{\"op\":\"remove\",\"fieldId\":\"b\"}]}")
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(responseRepository, formService);
+    }
+
+    @Test
+    void patchesFieldsOfTheEmployeesLevels() throws Exception {
+        Response response = new Response();
+        response.setId(5L);
+        response.setFormId(1L);
+        response.setRecordId("r1");
+        response.setResponses("[{\"employeeId\":\"e2\",\"fieldId\":\"b\",\"value\":\"y\"}]");
+        when(responseRepository.findByFormIdAndRecordId(1L, "r1")).thenReturn(List.of(response));
+        when(formService.saveResponse(any(Response.class), anySet(), anyCollection(), anyCollection())).thenReturn(response);
+
+        patchAs("e1", "{\"operations\":[{\"op\":\"set\",\"fieldId\":\"a\",\"value\":\"x\"}]}")
+                .andExpect(status().isOk());
+
+        verify(formService).saveResponse(same(response), anySet(), anyCollection(), anyCollection());
+    }
+
+    @Test
+    void batchRejectsRecordsWithFieldsOutsideTheEmployeesLevels() throws Exception {
+        employee("e1");
+
+        mockMvc.perform(post("/api/employee/form/1/responses/batch")
+                        .principal(new UsernamePasswordAuthenticationToken("e1", null, List.of()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"recordId\":\"r1\",\"responses\":[{\"fieldId\":\"b\",\"value\":\"y\"}]}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("REJECTED"));
+
+        verifyNoInteractions(formService);
+    }
+
+    private ResultActions patchAs(String employeeId, String body) throws Exception {
+        employee(employeeId);
+        return mockMvc.perform(patch("/api/employee/form/1/record/r1")
+                .principal(new UsernamePasswordAuthenticationToken(employeeId, null, List.of()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private void employee(String employeeId) {
+        Employee employee = new Employee();
+        employee.setEmployeeId(employeeId);
+        employee.setEmployeeName("Employee " + employeeId);
+        employee.setRole(Employee.Role.EMPLOYEE);
+        when(employeeRepository.findByEmployeeId(employeeId)).thenReturn(employee);
+    }
+}
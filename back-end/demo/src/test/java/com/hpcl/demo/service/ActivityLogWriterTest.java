@@ -0,0 +1,86 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.ActivityLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ActivityLogWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new ActivityLogWriter();
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(writer, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 10);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(writer, "offerTimeout", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(writer, "maxAttempts", 3);
+        ReflectionTestUtils.setField(writer, "retryBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(writer, "flushOnShutdown", true);
+        ReflectionTestUtils.setField(writer, "shutdownTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.invokeMethod(writer, "start");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(writer, "stop");
+    }
+
+    @Test
+    void failedWriteOnTheCallerThreadIsCountedWithoutThrowingOrSleeping() {
+        // Once stopped, entries are written on the calling thread.
+        ReflectionTestUtils.invokeMethod(writer, "stop");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        long start = System.nanoTime();
+        assertDoesNotThrow(() -> writer.write(activity()));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, writer.stats().failedCount());
+        assertEquals(1, writer.stats().callerWriteCount());
+        assertEquals(1.0, meterRegistry.get("app.activity_log.entries").tag("outcome", "failed").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("app.activity_log.caller_writes").functionCounter().count());
+    }
+
+    @Test
+    void publishesQueueDepthAndFlushes() throws InterruptedException {
+        writer.write(activity());
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (writer.stats().writtenCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0.0, meterRegistry.get("app.activity_log.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("app.activity_log.entries").tag("outcome", "written").functionCounter().count(), 0.0);
+        assertTrue(meterRegistry.get("app.activity_log.flush").functionTimer().count() >= 1);
+    }
+
+    private static ActivityLog activity() {
+        return new ActivityLog("SUBMIT", 1L, "Form", "e1", "Employee One", ZonedDateTime.now());
+    }
+}
@@ -0,0 +1,73 @@
+package com.hpcl.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsBackWhatCsvTabularWriterWrote() throws IOException {
+        List<List<String>> rows = List.of(
+                List.of("Record ID", "Question, with comma", "Quoted \"answer\""),
+                List.of("r1", "line one\nline two", "crlf\r\ninside"),
+                List.of("r2", "", "ünïcødé ✓"),
+                List.of("r3", " padded ", "\"\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvTabularWriter writer = new CsvTabularWriter(out)) {
+            for (List<String> row : rows) {
+                writer.writeRow(row);
+            }
+        }
+
+        assertEquals(rows, readAll(new CsvRecordReader(new InputStreamReader(
+                new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void nullCellsComeBackEmptyAndFormulasKeepTheirGuard() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvTabularWriter writer = new CsvTabularWriter(out)) {
+            writer.writeRow(Arrays.asList("r1", null, "=1+1", "-5"));
+        }
+
+        assertEquals(List.of(List.of("r1", "", "'=1+1", "'-5")), readAll(new CsvRecordReader(new InputStreamReader(
+                new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void acceptsLfLineEndingsAndAMissingFinalNewline() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\n\"c\nd\",e\nf,"));
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c\nd", "e"), List.of("f", "")), readAll(reader));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuotedCell() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b"));
+
+        assertThrows(IOException.class, reader::readRecord);
+    }
+
+    private static List<List<String>> readAll(CsvRecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (reader) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
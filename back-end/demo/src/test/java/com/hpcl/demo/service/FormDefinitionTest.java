@@ -0,0 +1,211 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.Field;
+import com.hpcl.demo.entity.FormContent;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the compiled access matrix of FormDefinition against the stream scans it replaced.
+ */
+class FormDefinitionTest {
+
+    private static final List<String> EMPLOYEES = List.of("e1", "e2", "e3", "e4", "e5", "e6", "unassigned");
+
+    @Test
+    void matchesPreviousImplementationOnRandomForms() {
+        for (long seed = 0; seed < 500; seed++) {
+            Random random = new Random(seed);
+            FormContent content = randomContent(random);
+            FormDefinition definition = new FormDefinition(seed, content);
+
+            for (String employeeId : EMPLOYEES) {
+                String context = "seed " + seed + ", employee " + employeeId;
+                assertEquals(previousAccessibleFieldIds(content, employeeId), definition.getAccessibleFieldIds(employeeId), context);
+                assertEquals(previousIsAssigned(content, employeeId), definition.isAssigned(employeeId), context);
+                assertEquals(previousHighestPriorityRank(content, employeeId), definition.getHighestPriorityRank(employeeId), context);
+            }
+            List<Integer> order = content.getLevelPriorityOrder();
+            for (int rank = 0; rank < order.size(); rank++) {
+                assertEquals(previousFieldIdsUpToRank(content, rank), definition.getFieldIdsUpToRank(rank), "seed " + seed + ", rank " + rank);
+            }
+        }
+    }
+
+    @Test
+    void duplicatePriorityLevelsUseTheFirstPosition() {
+        FormContent content = content(
+                List.of(field("a", 1), field("b", 2), field("c", 3)),
+                Map.of(1, List.of("e1"), 2, List.of("e2"), 3, List.of("e3")),
+                List.of(2, 1, 2, 3));
+        FormDefinition definition = new FormDefinition(1L, content);
+
+        assertEquals(0, definition.getHighestPriorityRank("e2"));
+        assertEquals(1, definition.getHighestPriorityRank("e1"));
+        assertEquals(3, definition.getHighestPriorityRank("e3"));
+        assertEquals(Set.of("a", "b"), definition.getFieldIdsUpToRank(2));
+        assertEquals(previousFieldIdsUpToRank(content, 2), definition.getFieldIdsUpToRank(2));
+    }
+
+    @Test
+    void unrankedLevelsGrantAccessButNoRank() {
+        FormContent content = content(
+                List.of(field("a", 1), field("b", 4), field("c", 1, 4), field("d")),
+                Map.of(1, List.of("e1"), 4, List.of("e2", "e1")),
+                List.of(1, 2));
+        FormDefinition definition = new FormDefinition(1L, content);
+
+        assertEquals(List.of("b", "c"), definition.getAccessibleFieldIds("e2"));
+        assertTrue(definition.isAssigned("e2"));
+        assertEquals(Integer.MAX_VALUE, definition.getHighestPriorityRank("e2"));
+        assertEquals(List.of("a", "b", "c"), definition.getAccessibleFieldIds("e1"));
+        assertEquals(0, definition.getHighestPriorityRank("e1"));
+        assertEquals(List.of(1, 4), definition.getEmployeeLevels("e1"));
+        // The old code overflowed on MAX_VALUE + 1; the rank is now capped at the last ranked level.
+        assertEquals(Set.of("a", "c"), definition.getFieldIdsUpToRank(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void unassignedEmployeeSeesNothing() {
+        FormDefinition definition = new FormDefinition(1L, content(List.of(field("a", 1)), Map.of(1, List.of("e1")), List.of(1)));
+
+        assertEquals(List.of(), definition.getAccessibleFieldIds("e9"));
+        assertFalse(definition.isAssigned("e9"));
+        assertFalse(definition.canAccessField("e9", "a"));
+        assertTrue(definition.canAccessField("e1", "a"));
+        assertEquals(Integer.MAX_VALUE, definition.getHighestPriorityRank("e9"));
+    }
+
+    @Test
+    void isAssignedLooksAtEveryLevel() {
+        Map<Integer, List<String>> assignments = new HashMap<>();
+        assignments.put(1, List.of("e1"));
+        assignments.put(2, List.of("e2", "e3"));
+        assignments.put(3, null);
+        FormDefinition definition = new FormDefinition(1L, content(List.of(field("a", 1)), assignments, List.of(1, 2)));
+
+        assertTrue(definition.isAssigned("e1"));
+        assertTrue(definition.isAssigned("e3"));
+        assertFalse(definition.isAssigned("e9"));
+        assertEquals(List.of(), definition.getLevelAssignments().get(3));
+    }
+
+    @Test
+    void questionLookupKeepsTheFirstFieldWithAnId() {
+        FormDefinition definition = new FormDefinition(1L, content(
+                List.of(field("a", 1), new Field("a", "Duplicate", "text", List.of(1), null, null), field("b", 2)),
+                Map.of(1, List.of("e1")), List.of(1)));
+
+        assertEquals(Map.of("a", "Question a", "b", "Question b"), definition.getFieldIdToQuestion());
+    }
+
+    @Test
+    void toFormContentIsDetachedFromTheCachedDefinition() {
+        FormContent source = content(new ArrayList<>(List.of(field("a", 1))), new HashMap<>(Map.of(1, List.of("e1"))), new ArrayList<>(List.of(1)));
+        FormDefinition definition = new FormDefinition(1L, source);
+
+        source.getFields().add(field("late", 1));
+        FormContent copy = definition.toFormContent();
+        copy.getLevelAssignments().get(1).add("e2");
+        copy.getFields().clear();
+        copy.getLevelAssignments().clear();
+        copy.getLevelPriorityOrder().clear();
+
+        FormContent again = definition.toFormContent();
+        assertEquals(List.of("a"), again.getFields().stream().map(Field::getId).toList());
+        assertEquals(Map.of(1, List.of("e1")), again.getLevelAssignments());
+        assertEquals(List.of(1), again.getLevelPriorityOrder());
+    }
+
+    private static FormContent randomContent(Random random) {
+        int levelCount = 1 + random.nextInt(6);
+        List<Field> fields = new ArrayList<>();
+        int fieldCount = random.nextInt(12);
+        for (int i = 0; i < fieldCount; i++) {
+            List<Integer> levels = new ArrayList<>();
+            int count = random.nextInt(3);
+            for (int j = 0; j < count; j++) {
+                levels.add(1 + random.nextInt(levelCount + 1));
+            }
+            fields.add(new Field("f" + i, "Question " + i, "text", levels, null, null));
+        }
+
+        Map<Integer, List<String>> assignments = new HashMap<>();
+        for (int level = 1; level <= levelCount; level++) {
+            List<String> employeeIds = new ArrayList<>();
+            int count = random.nextInt(4);
+            for (int j = 0; j < count; j++) {
+                employeeIds.add(EMPLOYEES.get(random.nextInt(EMPLOYEES.size() - 1)));
+            }
+            assignments.put(level, employeeIds);
+        }
+
+        // Some levels are left out of the order and some appear twice.
+        List<Integer> order = new ArrayList<>();
+        for (int level = 1; level <= levelCount; level++) {
+            if (random.nextInt(4) > 0) {
+                order.add(level);
+            }
+        }
+        Collections.shuffle(order, random);
+        if (!order.isEmpty() && random.nextBoolean()) {
+            order.add(random.nextInt(order.size() + 1), order.get(random.nextInt(order.size())));
+        }
+        return content(fields, assignments, order);
+    }
+
+    // The implementations FormDefinition and FormController used before the access matrix was compiled.
+
+    private static List<String> previousAccessibleFieldIds(FormContent content, String employeeId) {
+        List<String> accessible = new ArrayList<>();
+        for (Field field : content.getFields()) {
+            if (field.getLevelNumbers() != null && field.getLevelNumbers().stream()
+                    .anyMatch(level -> content.getLevelAssignments().getOrDefault(level, List.of()).contains(employeeId))) {
+                accessible.add(field.getId());
+            }
+        }
+        return accessible;
+    }
+
+    private static boolean previousIsAssigned(FormContent content, String employeeId) {
+        return content.getLevelAssignments().values().stream().anyMatch(employeeIds -> employeeIds.contains(employeeId));
+    }
+
+    private static int previousHighestPriorityRank(FormContent content, String employeeId) {
+        List<Integer> levelPriorityOrder = content.getLevelPriorityOrder();
+        List<Integer> employeeLevels = content.getLevelAssignments().entrySet().stream()
+                .filter(entry -> entry.getValue().contains(employeeId))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        return levelPriorityOrder.stream()
+                .filter(employeeLevels::contains)
+                .mapToInt(levelPriorityOrder::indexOf)
+                .min()
+                .orElse(Integer.MAX_VALUE);
+    }
+
+    private static Set<String> previousFieldIdsUpToRank(FormContent content, int rank) {
+        List<Integer> levelPriorityOrder = content.getLevelPriorityOrder();
+        List<Integer> relevantLevels = levelPriorityOrder.subList(0, Math.min(rank + 1, levelPriorityOrder.size()));
+        return content.getFields().stream()
+                .filter(field -> field.getLevelNumbers().stream().anyMatch(relevantLevels::contains))
+                .map(Field::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Field field(String id, Integer... levels) {
+        return new Field(id, "Question " + id, "text", List.of(levels), null, null);
+    }
+
+    private static FormContent content(List<Field> fields, Map<Integer, List<String>> assignments, List<Integer> order) {
+        FormContent content = new FormContent();
+        content.setFields(fields);
+        content.setLevelAssignments(assignments);
+        content.setLevelPriorityOrder(order);
+        return content;
+    }
+}
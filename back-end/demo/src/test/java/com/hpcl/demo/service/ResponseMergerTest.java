@@ -0,0 +1,43 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.entity.FieldResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseMergerTest {
+
+    @Test
+    void keepsUntouchedAnswersAndAppendsUpsertedOnes() {
+        List<FieldResponse> existing = List.of(answer("a", "1"), answer("b", "2"), answer("c", "3"));
+
+        List<FieldResponse> merged = ResponseMerger.merge(existing, List.of(answer("b", "20"), answer("d", "4")));
+
+        assertEquals(List.of("a:1", "c:3", "b:20", "d:4"), describe(merged));
+    }
+
+    @Test
+    void replacesEveryStoredAnswerOfAResubmittedField() {
+        List<FieldResponse> existing = List.of(answer("a", "1"), answer("a", "2"), answer("b", "3"));
+
+        List<FieldResponse> merged = ResponseMerger.merge(existing, List.of(answer("a", "9")));
+
+        assertEquals(List.of("b:3", "a:9"), describe(merged));
+    }
+
+    @Test
+    void handlesEmptyInputs() {
+        assertEquals(List.of("a:1"), describe(ResponseMerger.merge(List.of(), List.of(answer("a", "1")))));
+        assertEquals(List.of("a:1"), describe(ResponseMerger.merge(List.of(answer("a", "1")), List.of())));
+    }
+
+    private static FieldResponse answer(String fieldId, String value) {
+        return new FieldResponse("e1", "Employee One", fieldId, value, null);
+    }
+
+    private static List<String> describe(List<FieldResponse> responses) {
+        return responses.stream().map(fr -> fr.getFieldId() + ":" + fr.getValue()).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hpcl.demo.service;
+
+import com.hpcl.demo.repository.ResponseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Keyset cursors of {@link ResponseReader#readPage}: the cursor returned with one page must select the
+ * rows after the last row of that page, and malformed cursors must be rejected before any query runs.
+ */
+class ResponseReaderTest {
+
+    private static final Long FORM_ID = 7L;
+
+    private ResponseRepository responseRepository;
+    private ResponseReader responseReader;
+
+    @BeforeEach
+    void setUp() {
+        responseRepository = mock(ResponseRepository.class);
+        responseReader = new ResponseReader();
+        ReflectionTestUtils.setField(responseReader, "responseRepository", responseRepository);
+        ReflectionTestUtils.setField(responseReader, "responseFieldStore", mock(ResponseFieldStore.class));
+    }
+
+    @Test
+    void idCursorContinuesAfterTheLastRowOfThePage() {
+        when(responseRepository.findHeadersByFormIdAfter(eq(FORM_ID), eq(0L), any())).thenReturn(headers(10, 11, 12));
+
+        ResponsePage first = responseReader.readPage(FORM_ID, ResponseSort.ID_ASC, null, 2, null);
+        assertNotNull(first.nextCursor());
+
+        responseReader.readPage(FORM_ID, ResponseSort.ID_ASC, first.nextCursor(), 2, null);
+        verify(responseRepository).findHeadersByFormIdAfter(FORM_ID, 11L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void descendingIdCursorContinuesBeforeTheLastRow() {
+        when(responseRepository.findHeadersByFormIdBefore(eq(FORM_ID), eq(Long.MAX_VALUE), any())).thenReturn(headers(30, 20, 10));
+
+        ResponsePage first = responseReader.readPage(FORM_ID, ResponseSort.ID_DESC, null, 2, null);
+
+        responseReader.readPage(FORM_ID, ResponseSort.ID_DESC, first.nextCursor(), 2, null);
+        verify(responseRepository).findHeadersByFormIdBefore(FORM_ID, 20L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void timeCursorKeepsMicrosecondsAndTheTieBreakingId() {
+        ZonedDateTime time = ZonedDateTime.ofInstant(Instant.parse("2024-05-01T10:15:30.123456Z"), ZoneId.of("UTC"));
+        List<ResponseRepository.ResponseHeader> page = List.of(header(5L, time.minusSeconds(1)), header(6L, time), header(4L, time.plusSeconds(1)));
+        when(responseRepository.findHeadersByFormIdOrderByTimeAsc(eq(FORM_ID), any())).thenReturn(page);
+
+        ResponsePage first = responseReader.readPage(FORM_ID, ResponseSort.CREATED_ASC, null, 2, null);
+
+        responseReader.readPage(FORM_ID, ResponseSort.CREATED_ASC, first.nextCursor(), 2, null);
+        verify(responseRepository).findHeadersByFormIdAfterTime(eq(FORM_ID),
+                argThat(after -> after.toInstant().equals(time.toInstant())), eq(6L), eq(PageRequest.of(0, 3)));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(responseRepository.findHeadersByFormIdAfter(eq(FORM_ID), eq(0L), any())).thenReturn(headers(1, 2));
+
+        assertNull(responseReader.readPage(FORM_ID, ResponseSort.ID_ASC, null, 2, null).nextCursor());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String notNumeric = encode("abc");
+        String timeCursor = encode("1714558530123456:6");
+        String missingId = encode("1714558530123456");
+
+        assertThrows(IllegalArgumentException.class, () -> responseReader.readPage(FORM_ID, ResponseSort.ID_ASC, "***", 10, null));
+        assertThrows(IllegalArgumentException.class, () -> responseReader.readPage(FORM_ID, ResponseSort.ID_ASC, notNumeric, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> responseReader.readPage(FORM_ID, ResponseSort.ID_DESC, timeCursor, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> responseReader.readPage(FORM_ID, ResponseSort.CREATED_ASC, missingId, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> responseReader.readPage(FORM_ID, ResponseSort.CREATED_DESC, encode("x:6"), 10, null));
+        verifyNoInteractions(responseRepository);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<ResponseRepository.ResponseHeader> headers(long... ids) {
+        List<ResponseRepository.ResponseHeader> headers = new ArrayList<>();
+        for (long id : ids) {
+            headers.add(header(id, ZonedDateTime.now()));
+        }
+        return headers;
+    }
+
+    private static ResponseRepository.ResponseHeader header(Long id, ZonedDateTime time) {
+        return new ResponseRepository.ResponseHeader() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmployeeId() {
+                return "e1";
+            }
+
+            @Override
+            public String getRecordId() {
+                return "r" + id;
+            }
+
+            @Override
+            public ZonedDateTime getTime() {
+                return time;
+            }
+
+            @Override
+            public ZonedDateTime getUpdatedAt() {
+                return time;
+            }
+        };
+    }
+}
@@ -208,21 +208,15 @@ function FormView() {
         const fetchAllData = async () => {
             setLoading(true);
             try {
-                // Fetch all data in parallel
-                const [formResponse, responsesResponse, activityResponse] = await Promise.all([
-                    axios.get(`http://localhost:8080/api/employee/form/${id}`, { headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` } }),
-                    axios.get(`http://localhost:8080/api/employee/form/${id}/responses`, { headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` } }),
-                    // NEW: Fetch activities for this specific form
-                    axios.get(`http://localhost:8080/api/employee/form/${id}/activity`, { headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` } })
-                ]);
-
-                setForm(formResponse.data);
-                setFormResponses(responsesResponse.data);
-                setFormActivities(activityResponse.data);
-                fetchActivities(); // Initial fetch
+                // Form, responses and activity in one request
+                const { data } = await axios.get(`http://localhost:8080/api/employee/form/${id}/workspace`, { headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` } });
+
+                setForm(data.form);
+                setFormResponses(data.responses);
+                setFormActivities(data.activity);
 
                 // This logic can remain as it is for other uses if needed
-                setResponseHistory(responsesResponse.data.flatMap(response => response.responses.map(fr => ({
+                setResponseHistory(data.responses.flatMap(response => response.responses.map(fr => ({
                     employeeId: response.employeeId,
                     fieldId: fr.fieldId,
                     type: 'New',
@@ -233,13 +227,7 @@ function FormView() {
 
             } catch (err) {
                 console.error('Error fetching data:', err);
-                // Check for activity fetch error specifically if needed, otherwise use a general error
-                if (err.config.url.includes('/activity') && err.response?.status === 404) {
-                    console.log('No activity log found for this form, or endpoint does not exist.');
-                    setFormActivities([]); // Gracefully handle no activities
-                } else {
-                    setError(err.response?.status === 404 ? 'Form not found.' : err.response?.status === 403 ? 'Not authorized.' : 'Failed to load form data.');
-                }
+                setError(err.response?.status === 404 ? 'Form not found.' : err.response?.status === 403 ? 'Not authorized.' : 'Failed to load form data.');
             } finally {
                 setLoading(false);
             }
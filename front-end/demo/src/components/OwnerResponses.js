@@ -2,6 +2,9 @@ import { useState, useEffect, useContext } from 'react';
 import { AuthContext } from '../context/AuthContext';
 import axios from 'axios';
 
+// forms.responses.max-forms on the server
+const MAX_FORMS_PER_REQUEST = 100;
+
 function OwnerResponses() {
     const { user } = useContext(AuthContext);
     const [forms, setForms] = useState([]);
@@ -20,30 +23,23 @@ function OwnerResponses() {
                     setForms(response.data);
                 } else if (user?.role === 'EMPLOYEE') {
                     // Fetch owned forms for EMPLOYEE
-                    const formsResponse = await axios.get('http://localhost:8080/api/employee/forms', {
+                    const formsResponse = await axios.get('http://localhost:8080/api/employee/forms/summary', {
                         headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` }
                     });
-                    const ownedForms = formsResponse.data.filter(form => form.ownerEmployeeId === user.employeeId);
+                    const ownedFormIds = formsResponse.data
+                        .filter(form => form.ownerEmployeeId === user.employeeId)
+                        .map(form => form.id);
 
-                    // Fetch responses for each owned form
-                    const formResponses = [];
-                    for (const form of ownedForms) {
-                        try {
-                            const responses = await axios.get(`http://localhost:8080/api/employee/form/${form.id}/responses`, {
-                                headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` }
-                            });
-                            formResponses.push({
-                                formId: form.id,
-                                formTitle: form.title,
-                                formOwnerId: form.ownerEmployeeId,
-                                formOwnerName: user.employeeName,
-                                responses: responses.data
-                            });
-                        } catch (err) {
-                            console.error(`Error fetching responses for form ${form.id}:`, err.response || err);
-                        }
+                    // Fetch responses of the owned forms, up to MAX_FORMS_PER_REQUEST forms per request
+                    const ownedForms = [];
+                    for (let i = 0; i < ownedFormIds.length; i += MAX_FORMS_PER_REQUEST) {
+                        const responses = await axios.get('http://localhost:8080/api/employee/forms/responses', {
+                            params: { formIds: ownedFormIds.slice(i, i + MAX_FORMS_PER_REQUEST).join(',') },
+                            headers: { Authorization: `Basic ${btoa(`${user?.employeeId}:password123`)}` }
+                        });
+                        ownedForms.push(...responses.data);
                     }
-                    setForms(formResponses);
+                    setForms(ownedForms);
                 }
             } catch (error) {
                 console.error('Error fetching responses:', error.response || error);